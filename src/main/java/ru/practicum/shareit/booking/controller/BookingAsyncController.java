@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.config.ReadOffload;
+import ru.practicum.shareit.utility.PageableMaker;
+import ru.practicum.shareit.utility.SharerUserId;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static ru.practicum.shareit.booking.controller.BookingController.cursorPageSize;
+import static ru.practicum.shareit.booking.controller.BookingController.withNextCursor;
+
+/**
+ * Списки бронирований как в BookingController, но запрос к БД выполняется в ReadOffload, а не в потоке Tomcat.
+ */
+@RestController
+@RequestMapping(path = "/async/bookings")
+@RequiredArgsConstructor
+public class BookingAsyncController {
+
+    private final BookingService bookingService;
+    private final ReadOffload readOffload;
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<BookingDtoResponse>>> getAllBookingForBooker(@SharerUserId Long userId,
+                                                                                              @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                                              @RequestParam(required = false) Integer from,
+                                                                                              @RequestParam(required = false) Integer size,
+                                                                                              @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            int pageSize = cursorPageSize(size);
+            BookingCursor after = BookingCursor.decode(cursor);
+            return readOffload.supply(() ->
+                    withNextCursor(bookingService.getAllBookingByUserIdAfter(userId, state, after, pageSize), pageSize));
+        }
+        Pageable pageable = PageableMaker.makePageable(from, size, Sort.by(Sort.Direction.DESC, "id"));
+        return readOffload.supply(() -> ResponseEntity.ok(bookingService.getAllBookingByUserId(userId, state, pageable)));
+    }
+
+    @GetMapping("/owner")
+    public CompletableFuture<ResponseEntity<List<BookingDtoResponse>>> getAllBookingForOwner(@SharerUserId Long userId,
+                                                                                             @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                                             @RequestParam(required = false) Integer from,
+                                                                                             @RequestParam(required = false) Integer size,
+                                                                                             @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            int pageSize = cursorPageSize(size);
+            BookingCursor after = BookingCursor.decode(cursor);
+            return readOffload.supply(() ->
+                    withNextCursor(bookingService.getAllBookingByOwnerIdAfter(userId, state, after, pageSize), pageSize));
+        }
+        Pageable pageable = PageableMaker.makePageable(from, size, Sort.by(Sort.Direction.DESC, "id"));
+        return readOffload.supply(() -> ResponseEntity.ok(bookingService.getAllBookingByOwnerId(userId, state, pageable)));
+    }
+}
@@ -3,17 +3,28 @@ package ru.practicum.shareit.booking.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.enums.BookingExportFormat;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.config.RequestMetrics;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.utility.Create;
 import ru.practicum.shareit.utility.PageableMaker;
+import ru.practicum.shareit.utility.SharerUserId;
 
 import java.util.List;
-
-import static ru.practicum.shareit.item.controller.ItemController.USER_ID;
+import java.util.Map;
 
 
 @RestController
@@ -21,41 +32,129 @@ import static ru.practicum.shareit.item.controller.ItemController.USER_ID;
 @RequiredArgsConstructor
 public class BookingController {
 
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
+
     private final BookingService bookingService;
 
     @PostMapping
-    public BookingDtoResponse createBooking(@RequestHeader(USER_ID) Long userId,
-                                            @RequestBody @Validated({Create.class}) BookingDtoRequest bookingDtoRequest) {
+    public BookingDtoResponse createBooking(@RequestBody @Validated({Create.class}) BookingDtoRequest bookingDtoRequest,
+                                            @SharerUserId Long userId) {
         return bookingService.createBooking(bookingDtoRequest, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(@SharerUserId Long userId,
+                                                   @RequestBody List<BookingDtoRequest> bookingDtoRequests) {
+        return bookingService.createBookings(bookingDtoRequests, userId);
+    }
+
     @PatchMapping("/{bookingId}")
-    public BookingDtoResponse updateBooking(@RequestHeader(USER_ID) Long userId,
+    public BookingDtoResponse updateBooking(@SharerUserId Long userId,
                                             @PathVariable Long bookingId, @RequestParam("approved") Boolean approved) {
         return bookingService.updateBooking(bookingId, userId, approved);
     }
 
+    @PatchMapping("/owner/bulk")
+    public List<BookingBatchResult> updateBookings(@SharerUserId Long userId,
+                                                   @RequestBody List<BookingDecision> decisions) {
+        return bookingService.updateBookings(decisions, userId);
+    }
+
     @GetMapping("/{bookingId}")
-    public BookingDtoResponse getBookingById(@RequestHeader(USER_ID) Long userId, @PathVariable Long bookingId) {
+    public BookingDtoResponse getBookingById(@SharerUserId Long userId, @PathVariable Long bookingId) {
         return bookingService.getBookingById(bookingId, userId);
     }
 
     @GetMapping
-    public List<BookingDtoResponse> getAllBookingForBooker(@RequestHeader(USER_ID) Long userId,
-                                                           @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                           @RequestParam(required = false) Integer from,
-                                                           @RequestParam(required = false) Integer size) {
+    public ResponseEntity<List<BookingDtoResponse>> getAllBookingForBooker(@SharerUserId Long userId,
+                                                                           @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                           @RequestParam(required = false) Integer from,
+                                                                           @RequestParam(required = false) Integer size,
+                                                                           @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            int pageSize = cursorPageSize(size);
+            return withNextCursor(bookingService.getAllBookingByUserIdAfter(userId, state, BookingCursor.decode(cursor), pageSize),
+                    pageSize);
+        }
         Pageable pageable = PageableMaker.makePageable(from, size, Sort.by(Sort.Direction.DESC, "id"));
-        return bookingService.getAllBookingByUserId(userId, state, pageable);
+        return ResponseEntity.ok(bookingService.getAllBookingByUserId(userId, state, pageable));
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResponse> getAllBookingForOwner(@RequestHeader(USER_ID) Long userId,
-                                                          @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                          @RequestParam(required = false) Integer from,
-                                                          @RequestParam(required = false) Integer size) {
+    public ResponseEntity<List<BookingDtoResponse>> getAllBookingForOwner(@SharerUserId Long userId,
+                                                                          @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                          @RequestParam(required = false) Integer from,
+                                                                          @RequestParam(required = false) Integer size,
+                                                                          @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            int pageSize = cursorPageSize(size);
+            return withNextCursor(bookingService.getAllBookingByOwnerIdAfter(userId, state, BookingCursor.decode(cursor), pageSize),
+                    pageSize);
+        }
         Pageable pageable = PageableMaker.makePageable(from, size, Sort.by(Sort.Direction.DESC, "id"));
-        return bookingService.getAllBookingByOwnerId(userId, state, pageable);
+        return ResponseEntity.ok(bookingService.getAllBookingByOwnerId(userId, state, pageable));
+    }
+
+    @GetMapping("/summary")
+    public Map<State, Long> getSummaryForBooker(@SharerUserId Long userId) {
+        return bookingService.getSummary(userId, BookingRole.BOOKER);
+    }
+
+    @GetMapping("/owner/summary")
+    public Map<State, Long> getSummaryForOwner(@SharerUserId Long userId) {
+        return bookingService.getSummary(userId, BookingRole.OWNER);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingForBooker(@SharerUserId Long userId,
+                                                                        @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        return export(userId, BookingRole.BOOKER, state, format);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingForOwner(@SharerUserId Long userId,
+                                                                       @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                       @RequestParam(defaultValue = "ndjson") String format) {
+        return export(userId, BookingRole.OWNER, state, format);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(Long userId, BookingRole role, String state, String format) {
+        State exportState = bookingService.getStateByStr(state);
+        BookingExportFormat exportFormat = exportFormat(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(RequestMetrics.carry(outputStream ->
+                        bookingService.exportBookings(userId, role, exportState, exportFormat, outputStream)));
+    }
+
+    private static BookingExportFormat exportFormat(String format) {
+        try {
+            return BookingExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(String.format("Unknown format: %s", format));
+        }
+    }
+
+    static int cursorPageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_CURSOR_PAGE_SIZE;
+        }
+        if (size <= 0) {
+            throw new ValidationException("Неправильно указанны параметры для просмотра!");
+        }
+        return size;
+    }
+
+    static ResponseEntity<List<BookingDtoResponse>> withNextCursor(List<BookingDtoResponse> bookings, int size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDtoResponse last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR, BookingCursor.of(last.getStart(), last.getId()).encode())
+                .body(bookings);
     }
 
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Результат одной записи пакета: HTTP-статус, который вернул бы одиночный запрос (POST /bookings
+ * или PATCH /bookings/{id}), и созданное или изменённое бронирование либо текст ошибки.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class BookingBatchResult {
+
+    private int index;
+    private int status;
+    private BookingDtoResponse booking;
+    private String error;
+
+    public static BookingBatchResult succeeded(int index, BookingDtoResponse booking) {
+        return new BookingBatchResult(index, HttpStatus.OK.value(), booking, null);
+    }
+
+    public static BookingBatchResult rejected(int index, HttpStatus status, String error) {
+        return new BookingBatchResult(index, status.value(), null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Решение владельца по одному бронированию в PATCH /bookings/owner/bulk.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class BookingDecision {
+
+    @NotNull
+    private Long bookingId;
+    @NotNull
+    private Boolean approved;
+
+}
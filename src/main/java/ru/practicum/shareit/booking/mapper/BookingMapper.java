@@ -1,21 +1,39 @@
 package ru.practicum.shareit.booking.mapper;
 
 import lombok.experimental.UtilityClass;
-import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.MappingMetrics;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @UtilityClass
-@Slf4j
 public class BookingMapper {
 
+    private static final String MAPPER = "booking";
+
     public BookingDtoResponse toBookingDtoResponse(Booking booking) {
+        long start = System.nanoTime();
+        BookingDtoResponse response = map(booking);
+        MappingMetrics.record(MAPPER, 1, System.nanoTime() - start);
+        return response;
+    }
+
+    public List<BookingDtoResponse> toBookingDtoResponseList(List<Booking> booking) {
+        long start = System.nanoTime();
+        List<BookingDtoResponse> responses = booking
+                .stream()
+                .map(BookingMapper::map)
+                .collect(Collectors.toList());
+        MappingMetrics.record(MAPPER, responses.size(), System.nanoTime() - start);
+        return responses;
+    }
+
+    private BookingDtoResponse map(Booking booking) {
         BookingDtoResponse.Item item = new BookingDtoResponse.Item();
         BookingDtoResponse.User bookerDto = new BookingDtoResponse.User();
 
@@ -28,7 +46,6 @@ public class BookingMapper {
             bookerDto.setId(booking.getBooker().getId());
 
         }
-        log.info("Собираем бронирование");
         return BookingDtoResponse.builder()
                 .id(booking.getId())
                 .itemId(booking.getItem().getId())
@@ -40,14 +57,6 @@ public class BookingMapper {
                 .build();
     }
 
-    public List<BookingDtoResponse> toBookingDtoResponseList(List<Booking> booking) {
-
-        return booking
-                .stream()
-                .map(BookingMapper::toBookingDtoResponse)
-                .collect(Collectors.toList());
-    }
-
     public Booking toBooking(User booker, Item item, BookingDtoRequest bookingDtoRequest) {
         Booking booking = new Booking();
         booking.setId(bookingDtoRequest.getId());
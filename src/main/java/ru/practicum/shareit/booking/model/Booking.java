@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.model;
 import lombok.*;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.service.BookingStateListener;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -16,10 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "booking", schema = "public")
+@EntityListeners(BookingStateListener.class)
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
     @Column(name = "start_date")
     private LocalDateTime start;
@@ -35,5 +38,7 @@ public class Booking {
     private BookingStatus status;
     @Enumerated(EnumType.STRING)
     private State state;
+    @Version
+    private long version;
 
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.model;
+
+public interface BookingItemInterval extends BookingInterval {
+
+    Long getItemId();
+
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+/**
+ * Смена статуса для пакетного условного UPDATE: применяется, только если версия строки всё ещё version.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingStatusChange {
+
+    private final Long id;
+    private final long version;
+    private final BookingStatus from;
+    private final BookingStatus to;
+
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+
+import java.time.LocalDateTime;
+
+public interface BookingTimelineRow {
+
+    Long getId();
+
+    Long getBookerId();
+
+    Long getOwnerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    BookingStatus getStatus();
+
+    State getState();
+
+}
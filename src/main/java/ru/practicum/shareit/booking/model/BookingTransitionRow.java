@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public interface BookingTransitionRow {
+
+    Long getId();
+
+    Long getItemId();
+
+    Long getOwnerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    BookingStatus getStatus();
+
+    long getVersion();
+
+}
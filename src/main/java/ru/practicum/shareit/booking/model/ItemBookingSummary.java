@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.model;
+
+public interface ItemBookingSummary {
+
+    Long getItemId();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+
+}
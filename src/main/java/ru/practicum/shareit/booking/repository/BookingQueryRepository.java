@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatusChange;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingQueryRepository {
+
+    List<Booking> findSlice(Specification<Booking> specification, Sort sort, Pageable pageable);
+
+    /**
+     * Поток бронирований для выгрузки; читать только внутри транзакции и закрывать после использования.
+     */
+    Stream<Booking> streamAll(Specification<Booking> specification, Sort sort);
+
+    /**
+     * Применяет смены статуса одним JDBC-пакетом; для каждой возвращает число изменённых строк.
+     * Контекст персистентности после вызова очищается — бронирования нужно перечитать.
+     */
+    int[] updateStatuses(List<BookingStatusChange> changes);
+
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatusChange;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+
+    static final int STREAM_FETCH_SIZE = 500;
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE booking SET status = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Один SELECT без count-запроса: вещь, владелец, запрос вещи и арендатор подтягиваются fetch join'ами,
+     * чтобы EAGER-связи не догружались отдельными запросами на каждую строку.
+     */
+    @Override
+    public List<Booking> findSlice(Specification<Booking> specification, Sort sort, Pageable pageable) {
+        Sort order = pageable == null ? sort : sort.and(pageable.getSort());
+        TypedQuery<Booking> typedQuery = createQuery(specification, order);
+        if (pageable != null && pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Тот же запрос курсором: строки читаются пачками по STREAM_FETCH_SIZE, сущности загружаются только для чтения
+     * (без снимков для dirty checking), а контекст персистентности очищается после каждой пачки —
+     * память не растёт с длиной истории.
+     */
+    @Override
+    public Stream<Booking> streamAll(Specification<Booking> specification, Sort sort) {
+        TypedQuery<Booking> typedQuery = createQuery(specification, sort)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true);
+        AtomicLong rows = new AtomicLong();
+        return typedQuery.getResultStream()
+                .peek(booking -> {
+                    if (rows.incrementAndGet() % STREAM_FETCH_SIZE == 0) {
+                        entityManager.clear();
+                    }
+                });
+    }
+
+    /**
+     * Условие по версии делает каждую смену условной, как BookingRepository.updateStatus, но все строки
+     * уходят одним executeBatch. Версия увеличивается так же, как при сохранении через @Version.
+     */
+    @Override
+    public int[] updateStatuses(List<BookingStatusChange> changes) {
+        entityManager.flush();
+        int[] counts = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS_SQL)) {
+                for (BookingStatusChange change : changes) {
+                    statement.setString(1, change.getTo().name());
+                    statement.setLong(2, change.getId());
+                    statement.setLong(3, change.getVersion());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+        entityManager.clear();
+        return counts;
+    }
+
+    private TypedQuery<Booking> createQuery(Specification<Booking> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+
+        Fetch<Booking, Item> item = root.fetch("item", JoinType.INNER);
+        item.fetch("owner", JoinType.INNER);
+        Fetch<Item, ItemRequest> request = item.fetch("request", JoinType.LEFT);
+        request.fetch("requester", JoinType.LEFT);
+        root.fetch("booker", JoinType.INNER);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+}
@@ -1,90 +1,160 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.enums.BookingStatus;
-
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingItemInterval;
+import ru.practicum.shareit.booking.model.BookingTimelineRow;
+import ru.practicum.shareit.booking.model.BookingTransitionRow;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findAllByItem_IdInAndStatus(List<Long> itemsIds, BookingStatus bookingStatus, Sort sort);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
 
     List<Booking> findAllByBooker_Id(Long id);
 
     List<Booking> findAllByItem_Owner_Id(Long id);
 
-    List<Booking> findAllByItem_Owner_Id(Long userId, Pageable pageable);
-
-    List<Booking> findAllByBooker_IdOrderByIdDesc(Long userId, Pageable pageable);
-
     List<Booking> findAllByItem_Owner_IdOrderByStartDesc(Long userId);
 
-    List<Booking> findAllByBooker_IdOrderByStartDesc(Long userId, Pageable pageable);
-
     List<Booking> findAllByBooker_IdOrderByStartDesc(Long userId);
 
-    List<Booking> findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(long userId,
-                                                                     LocalDateTime dateTime1, LocalDateTime dateTime2, Pageable pageable);
-
-    List<Booking> findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(long userId,
-                                                                        LocalDateTime dateTime1, LocalDateTime dateTime2, Pageable pageable);
-
-
-    Optional<Booking> findFirstByItem_IdAndEndBeforeAndStatusOrderByEndDesc(Long itemId, LocalDateTime now, BookingStatus bookingStatus);
-
     Optional<Booking> findTopByItem_IdAndStartAfterAndStatusOrderByStartAsc(Long itemId, LocalDateTime now, BookingStatus bookingStatus);
 
-    Booking findFirstByItem_IdAndEndAfterAndStatusOrderByEndDesc(Long itemId, LocalDateTime end, BookingStatus bookingStatus);
-
     List<Booking> findByBooker_IdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
 
     Booking findFirstByItem_IdAndEndBeforeOrderByEndDesc(Long itemId, LocalDateTime end);
 
     Booking findTopByItem_IdAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime start);
 
-    List<Booking> findAllByItem_Owner_IdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = :id AND b.end < :currentTime AND upper(b.status) = ('APPROVED')" +
-            "ORDER BY b.start DESC")
-    List<Booking> findByBookerIdStatePastPageable(@Param("id") long id, @Param("currentTime") LocalDateTime currentTime, Pageable pageable);
+    List<BookingInterval> findAllByItem_IdAndStatusIn(Long itemId, Collection<BookingStatus> statuses);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status IN :statuses")
+    List<BookingItemInterval> findAllByItem_IdInAndStatusIn(@Param("itemIds") Collection<Long> itemIds,
+                                                            @Param("statuses") Collection<BookingStatus> statuses);
+
+    boolean existsByItem_IdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                                LocalDateTime end, LocalDateTime start);
+
+    /**
+     * Последнее (начавшееся не позже now) и следующее (начинающееся после now) подтверждённые бронирования
+     * для каждой вещи из itemIds. Считается в БД оконной функцией, поэтому не зависит от длины истории;
+     * запрос одинаково работает в PostgreSQL и H2.
+     */
+    @Query(value = "SELECT ranked.item_id AS itemId, " +
+            "MAX(CASE WHEN ranked.kind = 'LAST' THEN ranked.id END) AS lastBookingId, " +
+            "MAX(CASE WHEN ranked.kind = 'LAST' THEN ranked.booker_id END) AS lastBookerId, " +
+            "MAX(CASE WHEN ranked.kind = 'NEXT' THEN ranked.id END) AS nextBookingId, " +
+            "MAX(CASE WHEN ranked.kind = 'NEXT' THEN ranked.booker_id END) AS nextBookerId " +
+            "FROM (" +
+            "SELECT b.item_id, b.id, b.booker_id, 'LAST' AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn " +
+            "FROM booking b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date <= :now " +
+            "UNION ALL " +
+            "SELECT b.item_id, b.id, b.booker_id, 'NEXT' AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date, b.id) AS rn " +
+            "FROM booking b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date > :now" +
+            ") ranked WHERE ranked.rn = 1 GROUP BY ranked.item_id", nativeQuery = true)
+    List<ItemBookingSummary> findLastAndNextByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                      @Param("now") LocalDateTime now);
 
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :id AND b.end < :currentTime AND upper(b.status) = UPPER('APPROVED')" +
             "ORDER BY b.start DESC")
     List<Booking> findByBookerIdStatePast(@Param("id") long id, @Param("currentTime") LocalDateTime currentTime);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND b.start > :currentTime ORDER BY b.start DESC")
-    List<Booking> findFuturePageable(@Param("userId") long useId, @Param("currentTime") LocalDateTime currentTime, Pageable pageable);
-
     @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND b.start > :currentTime ORDER BY b.start DESC")
     List<Booking> findFuture(@Param("userId") long useId, @Param("currentTime") LocalDateTime currentTime);
 
     @Query("SELECT b FROM Booking b JOIN b.item i ON b.item = i WHERE i.owner.id = :ownerId ORDER BY b.start DESC")
     List<Booking> findOwnerAll(long ownerId);
 
-    @Query("SELECT b FROM Booking b JOIN b.item i ON b.item = i WHERE i.owner.id = :ownerId ORDER BY b.start DESC")
-    List<Booking> findOwnerAllPageable(long ownerId, Pageable pageable);
-
     @Query("SELECT b FROM Booking b JOIN b.item i ON b.item = i WHERE  i.owner.id = :userId AND b.start > :currentTime " +
             "ORDER BY b.start DESC")
     List<Booking> findOwnerFuture(@Param("userId") long userId, @Param("currentTime") LocalDateTime currentTime);
 
-    @Query("SELECT b FROM Booking b JOIN b.item i ON b.item = i WHERE  i.owner.id = :userId AND b.start > :currentTime " +
-            "ORDER BY b.start DESC")
-    List<Booking> findOwnerFuturePageable(@Param("userId") long userId, @Param("currentTime") LocalDateTime currentTime, Pageable pageable);
-
     @Query("SELECT b FROM Booking b JOIN b.item i ON b.item = i WHERE i.owner.id = :userId AND b.end < :currentTime ORDER BY b.id DESC")
     List<Booking> findOwnerPast(@Param("userId") long userId, @Param("currentTime") LocalDateTime currentTime);
 
-    @Query("SELECT b FROM Booking b JOIN b.item i ON b.item = i WHERE i.owner.id = :userId AND b.end < :currentTime ORDER BY b.id DESC")
-    List<Booking> findOwnerPastPageable(@Param("userId") long userId, @Param("currentTime") LocalDateTime currentTime, Pageable pageable);
-
+    /**
+     * Все бронирования с арендатором и владельцем вещи — для прогрева счётчиков состояний при старте.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.id AS id, b.booker.id AS bookerId, i.owner.id AS ownerId, b.start AS start, b.end AS end, " +
+            "b.status AS status, b.state AS state FROM Booking b JOIN b.item i")
+    Stream<BookingTimelineRow> streamTimeline();
+
+    /**
+     * Всё, что нужно для смены статуса, одним запросом — без загрузки вещи, владельца и арендатора.
+     */
+    @Query("SELECT b.id AS id, i.id AS itemId, i.owner.id AS ownerId, b.start AS start, b.end AS end, " +
+            "b.status AS status, b.version AS version FROM Booking b JOIN b.item i WHERE b.id = :id")
+    Optional<BookingTransitionRow> findTransitionById(@Param("id") Long id);
+
+    @Query("SELECT b.id AS id, i.id AS itemId, i.owner.id AS ownerId, b.start AS start, b.end AS end, " +
+            "b.status AS status, b.version AS version FROM Booking b JOIN b.item i WHERE b.id IN :ids")
+    List<BookingTransitionRow> findTransitionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Смена статуса с проверкой @Version: из параллельных запросов, прочитавших одну версию, строку обновит
+     * только первый, остальные получат 0. Версия увеличивается, как при сохранении сущности.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to, b.version = b.version + 1 WHERE b.id = :id AND b.version = :version")
+    int updateStatus(@Param("id") Long id, @Param("version") long version, @Param("to") BookingStatus to);
+
+    List<BookingInterval> findAllByStateIn(Collection<State> states);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.state = :state WHERE b.id IN :ids")
+    int updateState(@Param("ids") Collection<Long> ids, @Param("state") State state);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.state = :state")
+    List<Long> findIdsByIdInAndState(@Param("ids") Collection<Long> ids, @Param("state") State state);
+
+    @Query("SELECT DISTINCT b.item FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Item> findItemsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    /**
+     * Вещи одобренных бронирований, начало которых прошло, пока state ещё FUTURE: их updated сдвигает догоняющий старт.
+     */
+    @Query("SELECT DISTINCT b.item FROM Booking b WHERE b.start <= :now AND b.state = :state AND b.status = :status")
+    List<Item> findItemsByStartBeforeAndStateAndStatus(@Param("now") LocalDateTime now,
+                                                       @Param("state") State state,
+                                                       @Param("status") BookingStatus status);
+
+    /**
+     * Догоняющие UPDATE для BookingStateAdvancer: трогают только строки, чьё состояние разошлось с датами.
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.state = :state WHERE b.end < :now AND (b.state IS NULL OR b.state <> :state)")
+    int updateStateOfEnded(@Param("now") LocalDateTime now, @Param("state") State state);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.state = :state WHERE b.start <= :now AND b.end >= :now " +
+            "AND (b.state IS NULL OR b.state <> :state)")
+    int updateStateOfStarted(@Param("now") LocalDateTime now, @Param("state") State state);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.state = :state WHERE b.start > :now AND (b.state IS NULL OR b.state <> :state)")
+    int updateStateOfUpcoming(@Param("now") LocalDateTime now, @Param("state") State state);
+
+    long countByBooker_Id(Long bookerId);
+
+    long countByItem_Owner_Id(Long ownerId);
 }
\ No newline at end of file
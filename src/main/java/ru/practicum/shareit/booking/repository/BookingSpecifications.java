@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@UtilityClass
+public class BookingSpecifications {
+
+    public static final Sort SEEK_ORDER = Sort.by(Sort.Direction.DESC, "start", "id");
+
+    public Specification<Booking> byRoleAndState(long userId, BookingRole role, State state) {
+        return byRole(userId, role).and(inState(state, role));
+    }
+
+    public Specification<Booking> byRole(long userId, BookingRole role) {
+        if (role == BookingRole.OWNER) {
+            return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), userId);
+        }
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), userId);
+    }
+
+    /**
+     * FUTURE/CURRENT/PAST — равенство по Booking.state, который поддерживает BookingStateAdvancer.
+     */
+    public Specification<Booking> inState(State state, BookingRole role) {
+        switch (state) {
+            case ALL:
+                return (root, query, cb) -> cb.conjunction();
+            case PAST:
+                return role == BookingRole.BOOKER ? hasState(State.PAST).and(hasStatus(BookingStatus.APPROVED))
+                        : hasState(State.PAST);
+            case CURRENT:
+            case FUTURE:
+                return hasState(state);
+            case WAITING:
+                return hasStatus(BookingStatus.WAITING);
+            case REJECTED:
+                return hasStatus(BookingStatus.REJECTED);
+            default:
+                throw new IllegalArgumentException("Неизвестное состояние " + state);
+        }
+    }
+
+    public Specification<Booking> withIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public Specification<Booking> after(BookingCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("start"), cursor.getStart()),
+                cb.and(cb.equal(root.get("start"), cursor.getStart()), cb.lessThan(root.<Long>get("id"), cursor.getId())));
+    }
+
+    public Sort defaultOrder(State state, BookingRole role) {
+        switch (state) {
+            case ALL:
+            case FUTURE:
+                return Sort.by(Sort.Direction.DESC, "start");
+            case PAST:
+                return role == BookingRole.BOOKER ? Sort.by(Sort.Direction.DESC, "start") : Sort.by(Sort.Direction.DESC, "id");
+            default:
+                return Sort.unsorted();
+        }
+    }
+
+    private Specification<Booking> hasState(State state) {
+        return (root, query, cb) -> cb.equal(root.get("state"), state);
+    }
+
+    private Specification<Booking> hasStatus(BookingStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
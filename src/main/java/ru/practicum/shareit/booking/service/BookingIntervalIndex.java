@@ -0,0 +1,164 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingItemInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.utility.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Индекс активных (WAITING/APPROVED) бронирований по вещам.
+ * Снимок вещи строится из БД при первом обращении и дальше поддерживается write-through из BookingServiceImpl.
+ * При shareit.booking.overlap-index.enabled=false проверка идёт запросом в БД.
+ * Блокировки действуют только внутри одного JVM; между экземплярами пересечение отсекает ограничение
+ * booking_item_period_excl в PostgreSQL (ErrorHandler отвечает на его нарушение 409).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final ConcurrentMap<Long, ItemIntervals> intervals = new ConcurrentHashMap<>();
+    private final Lock[] locks = createLocks();
+
+    @Value("${shareit.booking.overlap-index.enabled:true}")
+    private boolean enabled;
+
+    public <T> T locked(Long itemId, Supplier<T> action) {
+        Lock lock = locks[stripe(itemId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * locked() сразу для нескольких вещей. Полосы берутся по возрастанию номера, поэтому параллельные
+     * пакеты с пересекающимися вещами не взаимоблокируются.
+     */
+    public <T> T lockedAll(Collection<Long> itemIds, Supplier<T> action) {
+        int[] stripes = itemIds.stream().mapToInt(BookingIntervalIndex::stripe).distinct().sorted().toArray();
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!enabled) {
+            return !bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfter(itemId, ACTIVE_STATUSES,
+                    end, start);
+        }
+        return !snapshot(itemId).overlaps(toEpochMilli(start), toEpochMilli(end));
+    }
+
+    public void add(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        Long itemId = booking.getItem().getId();
+        intervals.computeIfPresent(itemId, (id, current) ->
+                current.with(booking.getId(), toEpochMilli(booking.getStart()), toEpochMilli(booking.getEnd())));
+        TransactionCallbacks.onRollback(() -> intervals.computeIfPresent(itemId, (id, current) ->
+                current.without(booking.getId())));
+    }
+
+    public void remove(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        Long itemId = booking.getItem().getId();
+        intervals.computeIfPresent(itemId, (id, current) -> current.without(booking.getId()));
+        TransactionCallbacks.onRollback(() -> intervals.computeIfPresent(itemId, (id, current) ->
+                current.with(booking.getId(), toEpochMilli(booking.getStart()), toEpochMilli(booking.getEnd()))));
+    }
+
+    /**
+     * Снимки сразу для нескольких вещей одним запросом. Пакетное создание бронирований иначе делало бы запрос
+     * на каждую новую вещь, а каждый запрос к booking сбрасывает накопленные INSERT и дробит JDBC-батч.
+     */
+    public void preload(Collection<Long> itemIds) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> missing = itemIds.stream()
+                .filter(itemId -> !intervals.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+        lockedAll(missing, () -> {
+            Map<Long, ItemIntervals> loaded = new HashMap<>();
+            missing.forEach(itemId -> loaded.put(itemId, ItemIntervals.EMPTY));
+            for (BookingItemInterval interval : bookingRepository.findAllByItem_IdInAndStatusIn(missing, ACTIVE_STATUSES)) {
+                loaded.computeIfPresent(interval.getItemId(), (itemId, snapshot) ->
+                        snapshot.with(interval.getId(), toEpochMilli(interval.getStart()), toEpochMilli(interval.getEnd())));
+            }
+            loaded.forEach(intervals::putIfAbsent);
+            log.debug("Загружены активные бронирования {} вещей одним запросом", loaded.size());
+            return null;
+        });
+    }
+
+    private ItemIntervals snapshot(Long itemId) {
+        ItemIntervals snapshot = intervals.get(itemId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        snapshot = ItemIntervals.EMPTY;
+        for (BookingInterval interval : bookingRepository.findAllByItem_IdAndStatusIn(itemId, ACTIVE_STATUSES)) {
+            snapshot = snapshot.with(interval.getId(), toEpochMilli(interval.getStart()), toEpochMilli(interval.getEnd()));
+        }
+        log.debug("Загружено {} активных бронирований вещи с ID {}", snapshot.size(), itemId);
+        ItemIntervals existing = intervals.putIfAbsent(itemId, snapshot);
+        return existing == null ? snapshot : existing;
+    }
+
+    private static int stripe(Long itemId) {
+        return Math.floorMod(itemId.hashCode(), LOCK_STRIPES);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static Lock[] createLocks() {
+        Lock[] stripes = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+}
@@ -1,20 +1,44 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.enums.BookingExportFormat;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.State;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
 
     BookingDtoResponse createBooking(BookingDtoRequest bookingDtoRequest, Long userId);
 
+    List<BookingBatchResult> createBookings(List<BookingDtoRequest> bookingDtoRequests, Long userId);
+
     BookingDtoResponse updateBooking(Long bookingDto, Long userId, Boolean isApproved);
 
+    List<BookingBatchResult> updateBookings(List<BookingDecision> decisions, Long userId);
+
     BookingDtoResponse getBookingById(Long bookingId, Long userId);
 
     List<BookingDtoResponse> getAllBookingByOwnerId(Long userId, String state, Pageable pageable);
 
     List<BookingDtoResponse> getAllBookingByUserId(Long userId, String state, Pageable pageable);
+
+    List<BookingDtoResponse> getAllBookingByOwnerIdAfter(Long userId, String state, BookingCursor cursor, int size);
+
+    List<BookingDtoResponse> getAllBookingByUserIdAfter(Long userId, String state, BookingCursor cursor, int size);
+
+    State getStateByStr(String stateStr);
+
+    Map<State, Long> getSummary(Long userId, BookingRole role);
+
+    void exportBookings(Long userId, BookingRole role, State state, BookingExportFormat format,
+                        OutputStream outputStream) throws IOException;
 }
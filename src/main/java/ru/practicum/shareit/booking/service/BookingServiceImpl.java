@@ -1,37 +1,84 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.enums.BookingExportFormat;
+import ru.practicum.shareit.booking.enums.BookingRole;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatusChange;
+import ru.practicum.shareit.booking.model.BookingTransitionRow;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
+import ru.practicum.shareit.utility.Create;
 
 import javax.transaction.Transactional;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    static final int MAX_BATCH_SIZE = 500;
+    static final int MAX_TRANSITION_ATTEMPTS = 3;
+    private static final long TRANSITION_BACKOFF_MS = 10;
+    private static final String CSV_HEADER = "id,start,end,item_id,item_name,booker_id,status\n";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final UserExistenceService userExistenceService;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingStateCounters bookingStateCounters;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public BookingDtoResponse createBooking(BookingDtoRequest bookingDtoRequest, Long userId) {
@@ -40,6 +87,65 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не найден", userId)));
         Item item = itemRepository.findById(bookingDtoRequest.getItemId())
                 .orElseThrow(() -> new NotFoundException(String.format("Вещь с ID %s не найдена", bookingDtoRequest.getItemId())));
+
+        Booking saved = book(booker, item, bookingDtoRequest);
+        log.info("Вещь с  ID {} забронирована", item.getId());
+
+        return BookingMapper.toBookingDtoResponse(saved);
+    }
+
+    @Transactional
+    public List<BookingBatchResult> createBookings(List<BookingDtoRequest> bookingDtoRequests, Long userId) {
+        if (bookingDtoRequests.isEmpty() || bookingDtoRequests.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("В пакете должно быть от 1 до %s бронирований", MAX_BATCH_SIZE));
+        }
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не найден", userId)));
+        Set<Long> itemIds = bookingDtoRequests.stream()
+                .map(BookingDtoRequest::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        bookingIntervalIndex.preload(items.keySet());
+
+        List<BookingBatchResult> results = new ArrayList<>(bookingDtoRequests.size());
+        int created = 0;
+        for (int index = 0; index < bookingDtoRequests.size(); index++) {
+            BookingDtoRequest bookingDtoRequest = bookingDtoRequests.get(index);
+            try {
+                validate(bookingDtoRequest, Create.class);
+                Item item = items.get(bookingDtoRequest.getItemId());
+                if (item == null) {
+                    throw new NotFoundException(String.format("Вещь с ID %s не найдена", bookingDtoRequest.getItemId()));
+                }
+                results.add(BookingBatchResult.succeeded(index,
+                        BookingMapper.toBookingDtoResponse(book(booker, item, bookingDtoRequest))));
+                created++;
+            } catch (ValidationException e) {
+                results.add(BookingBatchResult.rejected(index, HttpStatus.BAD_REQUEST, e.getMessage()));
+            } catch (NotFoundException e) {
+                results.add(BookingBatchResult.rejected(index, HttpStatus.NOT_FOUND, e.getMessage()));
+            } catch (ConflictException e) {
+                results.add(BookingBatchResult.rejected(index, HttpStatus.CONFLICT, e.getMessage()));
+            }
+        }
+        log.info("Пакет бронирований пользователя с ID {}: создано {} из {}", userId, created, results.size());
+
+        return results;
+    }
+
+    private <T> void validate(T value, Class<?>... groups) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value, groups);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private Booking book(User booker, Item item, BookingDtoRequest bookingDtoRequest) {
         Booking booking = BookingMapper.toBooking(booker, item, bookingDtoRequest);
 
         if (!booking.getItem().getAvailable()) {
@@ -56,35 +162,216 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(BookingStatus.WAITING);
-        log.info("Вещь с  ID {} забронирована", item.getId());
 
-        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+        return bookingIntervalIndex.locked(item.getId(), () -> {
+            if (!bookingIntervalIndex.isFree(item.getId(), booking.getStart(), booking.getEnd())) {
+                throw new ConflictException("Вещь уже забронирована на это время");
+            }
+            Booking created = bookingRepository.save(booking);
+            bookingIntervalIndex.add(created);
+            bookingStateCounters.created(created);
+            return created;
+        });
     }
 
-    @Transactional
+    /**
+     * Каждая попытка — своя короткая транзакция: проигравший гонку откатывается, отпускает соединение на время
+     * паузы и перечитывает строку уже в новой транзакции.
+     */
     public BookingDtoResponse updateBooking(Long bookingId, Long userId, Boolean isApproved) {
-        Booking booking = getBookingById(bookingId);
+        BookingStatus target = isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        for (int attempt = 1; ; attempt++) {
+            BookingDtoResponse updated = transactionTemplate.execute(status ->
+                    tryUpdateBooking(bookingId, userId, target));
+            if (updated != null) {
+                log.info("Бронирование с ID {} обновлено", bookingId);
+                return updated;
+            }
+            if (attempt == MAX_TRANSITION_ATTEMPTS) {
+                throw new ConflictException("Бронирование одновременно изменено другим запросом, повторите позже");
+            }
+            backOff(attempt);
+        }
+    }
 
-        if (!Objects.equals(booking.getItem().getOwner().getId(), userId)) {
+    private BookingDtoResponse tryUpdateBooking(Long bookingId, Long userId, BookingStatus target) {
+        BookingTransitionRow row = bookingRepository.findTransitionById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Бронирование с ID %s не найдено",
+                        bookingId)));
+
+        if (!Objects.equals(row.getOwnerId(), userId)) {
             throw new NotFoundException("Пользователь не является владельцем");
         }
-        if (booking.getStatus().equals(BookingStatus.APPROVED) && isApproved) {
-            throw new ValidationException("Уже одобрено");
+        if (row.getStatus() == target) {
+            throw new ValidationException(target == BookingStatus.APPROVED ? "Уже одобрено" : "Уже отклонено");
+        }
+        Booking saved = bookingIntervalIndex.locked(row.getItemId(), () -> transition(row, target));
+        if (saved == null) {
+            return null;
+        }
+        bookingStateCounters.statusChanged(saved, row.getStatus());
+        return BookingMapper.toBookingDtoResponse(saved);
+    }
+
+    /**
+     * Решения владельца по нескольким бронированиям: владение проверяется одним запросом с join по вещам,
+     * смены статуса уходят одним пакетом условных UPDATE. Ошибки записей не прерывают пакет и возвращаются
+     * с тем же HTTP-статусом, что и у одиночного PATCH /bookings/{id}.
+     */
+    @Transactional
+    public List<BookingBatchResult> updateBookings(List<BookingDecision> decisions, Long userId) {
+        if (decisions.isEmpty() || decisions.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("В пакете должно быть от 1 до %s решений", MAX_BATCH_SIZE));
+        }
+        Set<Long> bookingIds = decisions.stream()
+                .map(BookingDecision::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, BookingTransitionRow> rows = bookingRepository.findTransitionsByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(BookingTransitionRow::getId, Function.identity()));
+        Set<Long> itemIds = rows.values().stream()
+                .map(BookingTransitionRow::getItemId)
+                .collect(Collectors.toSet());
+
+        List<BookingBatchResult> results = bookingIntervalIndex.lockedAll(itemIds, () -> decide(decisions, rows, userId));
+        log.info("Пакет решений владельца с ID {}: изменено {} из {}", userId,
+                results.stream().filter(result -> result.getBooking() != null).count(), results.size());
+
+        return results;
+    }
+
+    private List<BookingBatchResult> decide(List<BookingDecision> decisions, Map<Long, BookingTransitionRow> rows,
+                                            Long userId) {
+        BookingBatchResult[] results = new BookingBatchResult[decisions.size()];
+        Map<Integer, BookingStatusChange> changes = new LinkedHashMap<>();
+        Map<Long, List<BookingTransitionRow>> activated = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (int index = 0; index < decisions.size(); index++) {
+            try {
+                changes.put(index, change(decisions.get(index), rows, userId, seen, activated));
+            } catch (ValidationException e) {
+                results[index] = BookingBatchResult.rejected(index, HttpStatus.BAD_REQUEST, e.getMessage());
+            } catch (NotFoundException e) {
+                results[index] = BookingBatchResult.rejected(index, HttpStatus.NOT_FOUND, e.getMessage());
+            } catch (ConflictException e) {
+                results[index] = BookingBatchResult.rejected(index, HttpStatus.CONFLICT, e.getMessage());
+            }
+        }
+        if (!changes.isEmpty()) {
+            apply(changes, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private BookingStatusChange change(BookingDecision decision, Map<Long, BookingTransitionRow> rows, Long userId,
+                                       Set<Long> seen, Map<Long, List<BookingTransitionRow>> activated) {
+        validate(decision);
+        if (!seen.add(decision.getBookingId())) {
+            throw new ValidationException(String.format("Бронирование с ID %s повторяется в пакете",
+                    decision.getBookingId()));
+        }
+        BookingTransitionRow row = rows.get(decision.getBookingId());
+        if (row == null) {
+            throw new NotFoundException(String.format("Бронирование с ID %s не найдено", decision.getBookingId()));
+        }
+        if (!Objects.equals(row.getOwnerId(), userId)) {
+            throw new NotFoundException("Пользователь не является владельцем");
+        }
+        BookingStatus target = decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (row.getStatus() == target) {
+            throw new ValidationException(decision.getApproved() ? "Уже одобрено" : "Уже отклонено");
+        }
+        if (isActive(target) && !isActive(row.getStatus())) {
+            List<BookingTransitionRow> sameItem = activated.computeIfAbsent(row.getItemId(), id -> new ArrayList<>());
+            boolean overlapsBatch = sameItem.stream().anyMatch(other ->
+                    row.getStart().isBefore(other.getEnd()) && row.getEnd().isAfter(other.getStart()));
+            if (overlapsBatch || !bookingIntervalIndex.isFree(row.getItemId(), row.getStart(), row.getEnd())) {
+                throw new ConflictException("Вещь уже забронирована на это время");
+            }
+            sameItem.add(row);
+        }
+        return new BookingStatusChange(row.getId(), row.getVersion(), row.getStatus(), target);
+    }
+
+    private void apply(Map<Integer, BookingStatusChange> changes, BookingBatchResult[] results) {
+        List<BookingStatusChange> batch = new ArrayList<>(changes.values());
+        int[] counts = bookingRepository.updateStatuses(batch);
+        List<Long> updatedIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[i] != 0) {
+                updatedIds.add(batch.get(i).getId());
+            }
+        }
+        Map<Long, Booking> updated = updatedIds.isEmpty() ? Map.of() : bookingRepository
+                .findSlice(BookingSpecifications.withIds(updatedIds), Sort.unsorted(), null).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        for (Map.Entry<Integer, BookingStatusChange> entry : changes.entrySet()) {
+            int index = entry.getKey();
+            BookingStatusChange change = entry.getValue();
+            Booking booking = updated.get(change.getId());
+            if (booking == null) {
+                results[index] = BookingBatchResult.rejected(index, HttpStatus.CONFLICT,
+                        "Бронирование одновременно изменено другим запросом, повторите позже");
+                continue;
+            }
+            if (isActive(change.getTo()) && !isActive(change.getFrom())) {
+                bookingIntervalIndex.add(booking);
+            } else if (isActive(change.getFrom()) && !isActive(change.getTo())) {
+                bookingIntervalIndex.remove(booking);
+            }
+            touchItem(booking, change.getFrom(), change.getTo());
+            bookingStateCounters.statusChanged(booking, change.getFrom());
+            results[index] = BookingBatchResult.succeeded(index, BookingMapper.toBookingDtoResponse(booking));
+        }
+    }
+
+    /**
+     * Меняет статус условным UPDATE ... WHERE version = прочитанная, без загрузки графа сущности.
+     * null — статус успели сменить параллельно, вызывающий перечитает его и решит заново.
+     */
+    private Booking transition(BookingTransitionRow row, BookingStatus target) {
+        boolean wasActive = isActive(row.getStatus());
+        boolean activating = isActive(target) && !wasActive;
+        if (activating && !bookingIntervalIndex.isFree(row.getItemId(), row.getStart(), row.getEnd())) {
+            throw new ConflictException("Вещь уже забронирована на это время");
+        }
+        if (bookingRepository.updateStatus(row.getId(), row.getVersion(), target) == 0) {
+            return null;
         }
-        if (booking.getStatus().equals(BookingStatus.REJECTED) && !isApproved) {
-            throw new ValidationException("Уже отклонено");
+        Booking saved = getBookingById(row.getId());
+        touchItem(saved, row.getStatus(), target);
+        if (activating) {
+            bookingIntervalIndex.add(saved);
+        } else if (wasActive && !isActive(target)) {
+            bookingIntervalIndex.remove(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * lastBooking/nextBooking в карточке вещи строятся по одобренным бронированиям — сдвигаем updated вещи,
+     * чтобы у владельца сменился ETag.
+     */
+    private static void touchItem(Booking booking, BookingStatus from, BookingStatus to) {
+        if (from == BookingStatus.APPROVED || to == BookingStatus.APPROVED) {
+            booking.getItem().setUpdated(LocalDateTime.now());
         }
-        setApprovedStatus(booking, isApproved);
-        log.info("Бронирование с ID {} обновлено", booking.getId());
+    }
 
-        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(TRANSITION_BACKOFF_MS * attempt + ThreadLocalRandom.current().nextLong(TRANSITION_BACKOFF_MS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Бронирование одновременно изменено другим запросом, повторите позже");
+        }
     }
 
     @Transactional
     public BookingDtoResponse getBookingById(Long bookingId, Long userId) {
         Booking booking = getBookingById(bookingId);
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не найден", userId)));
+        userExistenceService.requireExists(userId);
 
         if (Objects.equals(booking.getBooker().getId(), userId) || Objects.equals(booking.getItem().getOwner().getId(), userId)) {
             return BookingMapper.toBookingDtoResponse(booking);
@@ -113,100 +400,113 @@ public class BookingServiceImpl implements BookingService {
         return state;
     }
 
-    public List<BookingDtoResponse> getAllBookingByUser(Long userId, String stateStr, Pageable pageable) {
-
-        State state = getStateByStr(stateStr);
-        List<Booking> bookings = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
+    @Transactional
+    public List<BookingDtoResponse> getAllBookingByOwnerId(Long ownerId, String stateStr, Pageable pageable) {
+        return findByState(ownerId, BookingRole.OWNER, stateStr, null, pageable);
+    }
 
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findAllByBooker_IdOrderByStartDesc(userId, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdStatePastPageable(userId, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBooker_IdAndStatus(userId, BookingStatus.WAITING, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(userId, now, now, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBooker_IdAndStatus(userId, BookingStatus.REJECTED, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findFuturePageable(userId, now, pageable);
-                break;
+    @Transactional
+    public List<BookingDtoResponse> getAllBookingByUserId(Long userId, String stateStr, Pageable pageable) {
+        return findByState(userId, BookingRole.BOOKER, stateStr, null, pageable);
+    }
 
-        }
+    @Transactional
+    public List<BookingDtoResponse> getAllBookingByOwnerIdAfter(Long ownerId, String stateStr, BookingCursor cursor, int size) {
+        return findByState(ownerId, BookingRole.OWNER, stateStr, cursor, PageRequest.of(0, size));
+    }
 
-        return BookingMapper.toBookingDtoResponseList(bookings);
+    @Transactional
+    public List<BookingDtoResponse> getAllBookingByUserIdAfter(Long userId, String stateStr, BookingCursor cursor, int size) {
+        return findByState(userId, BookingRole.BOOKER, stateStr, cursor, PageRequest.of(0, size));
     }
 
-    public List<BookingDtoResponse> getAllBookingByOwner(Long userId, String stateStr, Pageable pageable) {
-
-        State state = getStateByStr(stateStr);
-        List<Booking> bookings = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findOwnerAllPageable(userId, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findOwnerFuturePageable(userId, now, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(userId, now, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItem_Owner_IdAndStatus(userId, BookingStatus.WAITING, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findOwnerPastPageable(userId, now, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItem_Owner_IdAndStatus(userId, BookingStatus.REJECTED, pageable);
-                break;
-            default:
-                throw new NotFoundException("Состояние резервирования не распознано");
+    private List<BookingDtoResponse> findByState(Long userId, BookingRole role, String stateStr,
+                                                 BookingCursor cursor, Pageable pageable) {
+        State state;
+        try {
+            state = getStateByStr(stateStr);
+        } catch (ValidationException e) {
+            requireBookings(userId, role, pageable);
+            throw e;
         }
 
+        Specification<Booking> specification = BookingSpecifications.byRoleAndState(userId, role, state);
+        Sort sort;
+        if (cursor == null) {
+            sort = BookingSpecifications.defaultOrder(state, role);
+        } else {
+            specification = specification.and(BookingSpecifications.after(cursor));
+            sort = BookingSpecifications.SEEK_ORDER;
+        }
+
+        List<Booking> bookings = bookingRepository.findSlice(specification, sort, pageable);
+        if (bookings.isEmpty()) {
+            requireBookings(userId, role, pageable);
+        }
         return BookingMapper.toBookingDtoResponseList(bookings);
     }
 
+    public Map<State, Long> getSummary(Long userId, BookingRole role) {
+        return bookingStateCounters.summary(userId, role);
+    }
+
+    /**
+     * Пишет всю историю построчно из курсора, не собирая список: NDJSON — бронирование на строку,
+     * CSV — заголовок и плоские колонки.
+     */
     @Transactional
-    public List<BookingDtoResponse> getAllBookingByOwnerId(Long ownerId, String stateStr, Pageable pageable) {
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не найден", ownerId)));
-        List<Booking> bookings = bookingRepository.findAllByItem_Owner_Id(ownerId, pageable);
-        if (bookings.isEmpty()) {
-            throw new NotFoundException("Бронирований не найдено");
+    public void exportBookings(Long userId, BookingRole role, State state, BookingExportFormat format,
+                               OutputStream outputStream) throws IOException {
+        Specification<Booking> specification = BookingSpecifications.byRoleAndState(userId, role, state);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        long rows = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamAll(specification, BookingSpecifications.SEEK_ORDER)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingDtoResponse booking = BookingMapper.toBookingDtoResponse(iterator.next());
+                writer.write(format == BookingExportFormat.CSV ? toCsv(booking) : objectMapper.writeValueAsString(booking));
+                writer.write('\n');
+                rows++;
+            }
         }
-        return getAllBookingByOwner(ownerId, stateStr, pageable);
+        writer.flush();
+        log.info("Выгружено {} бронирований пользователя с ID {} ({}, {})", rows, userId, role, state);
     }
 
-    @Transactional
-    public List<BookingDtoResponse> getAllBookingByUserId(Long userId, String stateStr, Pageable pageable) {
+    private static String toCsv(BookingDtoResponse booking) {
+        return booking.getId() + "," + booking.getStart() + "," + booking.getEnd() + "," + booking.getItemId() + ","
+                + csvValue(booking.getItem().getName()) + "," + booking.getBooker().getId() + "," + booking.getStatus();
+    }
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не найден", userId)));
-        List<Booking> bookings = bookingRepository.findAllByBooker_IdOrderByIdDesc(userId, pageable);
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
 
-        if (bookings.isEmpty()) {
+    /**
+     * 404, если у пользователя нет бронирований на этой странице среди всех его бронирований,
+     * как было до выборки по состоянию: from за концом списка — тоже 404. Считается только при пустом ответе.
+     */
+    private void requireBookings(Long userId, BookingRole role, Pageable pageable) {
+        userExistenceService.requireExists(userId);
+        long bookings = role == BookingRole.OWNER
+                ? bookingRepository.countByItem_Owner_Id(userId)
+                : bookingRepository.countByBooker_Id(userId);
+        long offset = pageable == null || pageable.isUnpaged() ? 0 : pageable.getOffset();
+        if (bookings <= offset) {
             throw new NotFoundException("Бронирований не найдено");
         }
-
-        return getAllBookingByUser(userId, stateStr, pageable);
     }
 
-
-    private void setApprovedStatus(Booking booking, Boolean isApproved) {
-        if (isApproved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
-        }
+    private static boolean isActive(BookingStatus status) {
+        return BookingIntervalIndex.ACTIVE_STATUSES.contains(status);
     }
 }
@@ -0,0 +1,287 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Хранит Booking.state в актуальном виде, чтобы FUTURE/CURRENT/PAST искались равенством по индексу,
+ * а не сравнением дат с now. Незавершённые бронирования лежат в очереди по ближайшему моменту смены фазы
+ * (start для FUTURE, end для CURRENT); advance() снимает только наступившие переходы и пишет их
+ * пакетными UPDATE ... WHERE id IN (...). При старте состояние в БД догоняется тремя UPDATE по датам.
+ * Начало одобренного бронирования сдвигает updated вещи: у владельца в карточке меняются lastBooking/nextBooking,
+ * в том числе когда начало пришлось на простой и переход делает догоняющий UPDATE.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingStateAdvancer {
+
+    private static final int UPDATE_CHUNK = 1_000;
+    private static final int MAX_MISSES = 10;
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<BiConsumer<Long, State>> listeners = new CopyOnWriteArrayList<>();
+    private final Lock lock = new ReentrantLock();
+    private final Map<Long, Pending> pending = new HashMap<>();
+    private final PriorityQueue<Pending> transitions = new PriorityQueue<>(Comparator.comparing(Pending::nextAt));
+
+    /**
+     * Фаза бронирования на момент now; null, если даты не заданы.
+     */
+    public static State phaseAt(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (start == null || end == null) {
+            return null;
+        }
+        if (end.isBefore(now)) {
+            return State.PAST;
+        }
+        return start.isAfter(now) ? State.FUTURE : State.CURRENT;
+    }
+
+    @PostConstruct
+    public void catchUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingInterval> unfinished = transactionTemplate.execute(status -> {
+            List<Item> started = bookingRepository.findItemsByStartBeforeAndStateAndStatus(now, State.FUTURE,
+                    BookingStatus.APPROVED);
+            int updated = bookingRepository.updateStateOfEnded(now, State.PAST)
+                    + bookingRepository.updateStateOfStarted(now, State.CURRENT)
+                    + bookingRepository.updateStateOfUpcoming(now, State.FUTURE);
+            if (updated > 0) {
+                log.info("Обновили состояние {} бронирований при старте", updated);
+            }
+            started.forEach(item -> item.setUpdated(now));
+            return bookingRepository.findAllByStateIn(List.of(State.FUTURE, State.CURRENT));
+        });
+        for (BookingInterval interval : Objects.requireNonNull(unfinished)) {
+            track(interval.getId(), interval.getStart(), interval.getEnd(),
+                    phaseAt(interval.getStart(), interval.getEnd(), now));
+        }
+        log.info("В очереди смены состояний {} бронирований", unfinished.size());
+    }
+
+    /**
+     * Подписка на смену фазы: вызывается после того, как новое состояние записано в БД.
+     */
+    public void onAdvance(BiConsumer<Long, State> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Ставит бронирование в очередь или заменяет запись о нём. Если фаза уже сменилась при сохранении
+     * (BookingStateListener пересчитал state раньше тика), подписчики узнают об этом сразу.
+     */
+    public void track(Long bookingId, LocalDateTime start, LocalDateTime end, State phase) {
+        Pending existing;
+        lock.lock();
+        try {
+            existing = pending.get(bookingId);
+            if (existing != null) {
+                if (existing.phase == phase && existing.start.equals(start) && existing.end.equals(end)) {
+                    return;
+                }
+                pending.remove(bookingId);
+                transitions.remove(existing);
+            }
+            if (phase == State.FUTURE || phase == State.CURRENT) {
+                Pending added = new Pending(bookingId, start, end, phase);
+                pending.put(bookingId, added);
+                transitions.add(added);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (existing != null && existing.phase != phase) {
+            listeners.forEach(listener -> listener.accept(bookingId, phase));
+        }
+    }
+
+    public void untrack(Long bookingId) {
+        lock.lock();
+        try {
+            Pending existing = pending.remove(bookingId);
+            if (existing != null) {
+                transitions.remove(existing);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Переводит бронирования, у которых наступило начало или конец, в следующую фазу.
+     * Если запись не удалась или UPDATE не нашёл строку, переход возвращается в очередь и повторяется
+     * на следующем тике; строку, которую не нашли MAX_MISSES тиков подряд, считаем удалённой.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking.state-advancer.tick-ms:1000}")
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<State, List<Pending>> due = new EnumMap<>(State.class);
+        lock.lock();
+        try {
+            while (!transitions.isEmpty() && transitions.peek().nextAt().isBefore(now)) {
+                Pending next = transitions.poll();
+                due.computeIfAbsent(phaseAt(next.start, next.end, now), phase -> new ArrayList<>()).add(next);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Long> started = due.values().stream()
+                .flatMap(List::stream)
+                .filter(next -> next.phase == State.FUTURE)
+                .map(next -> next.id)
+                .collect(Collectors.toList());
+
+        Set<Long> missed = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                missed.clear();
+                due.forEach((phase, moved) -> {
+                    List<Long> ids = moved.stream().map(next -> next.id).collect(Collectors.toList());
+                    for (int from = 0; from < ids.size(); from += UPDATE_CHUNK) {
+                        missed.addAll(updateState(ids.subList(from, Math.min(from + UPDATE_CHUNK, ids.size())), phase));
+                    }
+                });
+                touchItems(started, now);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обновить состояние бронирований, повторим на следующем тике", e);
+            lock.lock();
+            try {
+                due.values().forEach(moved -> moved.stream()
+                        .filter(next -> pending.get(next.id) == next)
+                        .forEach(transitions::add));
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        int count = 0;
+        for (Map.Entry<State, List<Pending>> entry : due.entrySet()) {
+            State phase = entry.getKey();
+            for (Pending next : entry.getValue()) {
+                if (missed.contains(next.id)) {
+                    retry(next);
+                    continue;
+                }
+                if (!moveTo(next, phase)) {
+                    continue;
+                }
+                listeners.forEach(listener -> listener.accept(next.id, phase));
+                count++;
+            }
+        }
+        log.debug("Сменили состояние {} бронирований", count);
+    }
+
+    /**
+     * Пишет фазу пачке бронирований и возвращает ID, чьих строк UPDATE не нашёл. Обычно затронуты все строки,
+     * и лишний запрос не нужен.
+     */
+    private List<Long> updateState(List<Long> ids, State phase) {
+        if (bookingRepository.updateState(ids, phase) == ids.size()) {
+            return List.of();
+        }
+        Set<Long> updated = new HashSet<>(bookingRepository.findIdsByIdInAndState(ids, phase));
+        return ids.stream().filter(id -> !updated.contains(id)).collect(Collectors.toList());
+    }
+
+    private void retry(Pending next) {
+        lock.lock();
+        try {
+            if (pending.get(next.id) != next) {
+                return;
+            }
+            if (++next.misses < MAX_MISSES) {
+                transitions.add(next);
+                return;
+            }
+            pending.remove(next.id);
+        } finally {
+            lock.unlock();
+        }
+        log.warn("Бронирование с ID {} не найдено при смене состояния {} раз подряд, убрано из очереди",
+                next.id, MAX_MISSES);
+    }
+
+    /**
+     * Вещи меняются через загруженные сущности, а не bulk UPDATE: он сбросил бы регион кэша второго уровня целиком.
+     */
+    private void touchItems(List<Long> started, LocalDateTime now) {
+        for (int from = 0; from < started.size(); from += UPDATE_CHUNK) {
+            bookingRepository.findItemsByIdInAndStatus(started.subList(from, Math.min(from + UPDATE_CHUNK, started.size())),
+                            BookingStatus.APPROVED)
+                    .forEach(item -> item.setUpdated(now));
+        }
+    }
+
+    private boolean moveTo(Pending next, State phase) {
+        lock.lock();
+        try {
+            if (pending.get(next.id) != next) {
+                return false;
+            }
+            next.phase = phase;
+            next.misses = 0;
+            if (phase == State.PAST) {
+                pending.remove(next.id);
+            } else {
+                transitions.add(next);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Pending {
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private State phase;
+        private int misses;
+
+        private Pending(Long id, LocalDateTime start, LocalDateTime end, State phase) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.phase = phase;
+        }
+
+        private LocalDateTime nextAt() {
+            return phase == State.FUTURE ? start : end;
+        }
+    }
+}
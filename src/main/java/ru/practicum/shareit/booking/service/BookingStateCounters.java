@@ -0,0 +1,195 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingTimelineRow;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.utility.TransactionCallbacks;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Счётчики бронирований по состояниям для каждого арендатора и владельца — бейджи вкладок без запросов в БД.
+ * Прогреваются одним проходом по таблице при старте, дальше меняются при создании и смене статуса
+ * (с откатом вместе с транзакцией), а переходы FUTURE→CURRENT→PAST получают от BookingStateAdvancer
+ * после записи нового состояния в БД.
+ * Правила совпадают с BookingSpecifications.inState, в том числе PAST арендатора — только APPROVED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingStateCounters {
+
+    private static final int STATES = State.values().length;
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingStateAdvancer bookingStateAdvancer;
+
+    private final Map<Long, LongAdder[]> bookers = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder[]> owners = new ConcurrentHashMap<>();
+    private final Lock lock = new ReentrantLock();
+    private final Map<Long, Tracked> active = new HashMap<>();
+
+    /**
+     * Состояние в БД к этому моменту уже догнано BookingStateAdvancer.catchUp(), а тики планировщика
+     * начинаются только после старта контекста, поэтому прогрев не пересекается со сменой фаз.
+     */
+    @PostConstruct
+    public void warmUp() {
+        bookingStateAdvancer.onAdvance(this::advanced);
+        long[] rows = new long[1];
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<BookingTimelineRow> timeline = bookingRepository.streamTimeline()) {
+                    timeline.forEach(row -> {
+                        track(new Tracked(row.getId(), row.getBookerId(), row.getOwnerId(),
+                                row.getStatus(), row.getState()));
+                        rows[0]++;
+                    });
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        log.info("Счётчики состояний прогреты по {} бронированиям", rows[0]);
+    }
+
+    public Map<State, Long> summary(Long userId, BookingRole role) {
+        LongAdder[] counters = (role == BookingRole.OWNER ? owners : bookers).get(userId);
+        Map<State, Long> summary = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            summary.put(state, counters == null ? 0L : counters[state.ordinal()].sum());
+        }
+        return summary;
+    }
+
+    public void created(Booking booking) {
+        Tracked tracked = new Tracked(booking.getId(), booking.getBooker().getId(), booking.getItem().getOwner().getId(),
+                booking.getStatus(), booking.getState());
+        lock.lock();
+        try {
+            track(tracked);
+        } finally {
+            lock.unlock();
+        }
+        TransactionCallbacks.onRollback(() -> {
+            lock.lock();
+            try {
+                active.remove(tracked.id);
+                count(tracked, tracked.phase, tracked.status, -1);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    public void statusChanged(Booking booking, BookingStatus previous) {
+        if (previous == booking.getStatus()) {
+            return;
+        }
+        changeStatus(booking, previous, booking.getStatus());
+        TransactionCallbacks.onRollback(() -> changeStatus(booking, booking.getStatus(), previous));
+    }
+
+    void advanced(Long bookingId, State phase) {
+        lock.lock();
+        try {
+            Tracked tracked = active.get(bookingId);
+            if (tracked == null) {
+                return;
+            }
+            count(tracked, tracked.phase, tracked.status, -1);
+            tracked.phase = phase;
+            count(tracked, tracked.phase, tracked.status, 1);
+            if (phase == State.PAST) {
+                active.remove(bookingId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void changeStatus(Booking booking, BookingStatus from, BookingStatus to) {
+        lock.lock();
+        try {
+            Tracked tracked = active.get(booking.getId());
+            if (tracked == null) {
+                tracked = new Tracked(booking.getId(), booking.getBooker().getId(), booking.getItem().getOwner().getId(),
+                        from, State.PAST);
+            }
+            count(tracked, tracked.phase, from, -1);
+            tracked.status = to;
+            count(tracked, tracked.phase, to, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void track(Tracked tracked) {
+        count(tracked, tracked.phase, tracked.status, 1);
+        if (tracked.phase == State.FUTURE || tracked.phase == State.CURRENT) {
+            active.put(tracked.id, tracked);
+        }
+    }
+
+    private void count(Tracked tracked, State phase, BookingStatus status, int delta) {
+        LongAdder[] booker = counters(bookers, tracked.bookerId);
+        LongAdder[] owner = counters(owners, tracked.ownerId);
+        booker[State.ALL.ordinal()].add(delta);
+        owner[State.ALL.ordinal()].add(delta);
+        if (status == BookingStatus.WAITING || status == BookingStatus.REJECTED) {
+            State byStatus = State.valueOf(status.name());
+            booker[byStatus.ordinal()].add(delta);
+            owner[byStatus.ordinal()].add(delta);
+        }
+        if (phase == null) {
+            return;
+        }
+        owner[phase.ordinal()].add(delta);
+        if (phase != State.PAST || status == BookingStatus.APPROVED) {
+            booker[phase.ordinal()].add(delta);
+        }
+    }
+
+    private static LongAdder[] counters(Map<Long, LongAdder[]> byUser, Long userId) {
+        return byUser.computeIfAbsent(userId, id -> {
+            LongAdder[] counters = new LongAdder[STATES];
+            for (int i = 0; i < STATES; i++) {
+                counters[i] = new LongAdder();
+            }
+            return counters;
+        });
+    }
+
+    private static final class Tracked {
+        private final Long id;
+        private final Long bookerId;
+        private final Long ownerId;
+        private BookingStatus status;
+        private State phase;
+
+        private Tracked(Long id, Long bookerId, Long ownerId, BookingStatus status, State phase) {
+            this.id = id;
+            this.bookerId = bookerId;
+            this.ownerId = ownerId;
+            this.status = status;
+            this.phase = phase;
+        }
+    }
+}
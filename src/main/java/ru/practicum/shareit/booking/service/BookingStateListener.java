@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.utility.TransactionCallbacks;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.time.LocalDateTime;
+
+/**
+ * Записывает Booking.state по датам на момент сохранения и ставит бронирование в очередь BookingStateAdvancer,
+ * который дальше переводит его FUTURE→CURRENT→PAST. В очередь попадают только закоммиченные строки:
+ * иначе тик мог бы обновить ещё невидимую строку (0 строк), а она закоммитилась бы со старым state.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingStateListener {
+
+    private final ObjectProvider<BookingStateAdvancer> bookingStateAdvancer;
+
+    @PrePersist
+    @PreUpdate
+    public void onSave(Booking booking) {
+        booking.setState(BookingStateAdvancer.phaseAt(booking.getStart(), booking.getEnd(), LocalDateTime.now()));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Booking booking) {
+        Long bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        State state = booking.getState();
+        TransactionCallbacks.afterCommit(() -> bookingStateAdvancer.ifAvailable(advancer ->
+                advancer.track(bookingId, start, end, state)));
+    }
+
+    @PostRemove
+    public void onRemove(Booking booking) {
+        Long bookingId = booking.getId();
+        TransactionCallbacks.afterCommit(() -> bookingStateAdvancer.ifAvailable(advancer -> advancer.untrack(bookingId)));
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.Arrays;
+
+/**
+ * Неизменяемый снимок активных бронирований одной вещи.
+ * Интервалы [start, end) отсортированы по началу, maxEnds хранит префиксный максимум окончаний,
+ * поэтому проверка пересечения — один бинарный поиск.
+ */
+final class ItemIntervals {
+
+    static final ItemIntervals EMPTY = new ItemIntervals(new long[0], new long[0], new long[0]);
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private ItemIntervals(long[] ids, long[] starts, long[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    boolean contains(long id) {
+        return indexOf(id) >= 0;
+    }
+
+    boolean overlaps(long start, long end) {
+        int startedBefore = firstStartNotBefore(end);
+        return startedBefore > 0 && maxEnds[startedBefore - 1] > start;
+    }
+
+    ItemIntervals with(long id, long start, long end) {
+        ItemIntervals base = without(id);
+        int n = base.ids.length;
+        int pos = base.firstStartNotBefore(start);
+        long[] newIds = new long[n + 1];
+        long[] newStarts = new long[n + 1];
+        long[] newEnds = new long[n + 1];
+        copyWithGap(base.ids, newIds, pos, id);
+        copyWithGap(base.starts, newStarts, pos, start);
+        copyWithGap(base.ends, newEnds, pos, end);
+        return new ItemIntervals(newIds, newStarts, newEnds);
+    }
+
+    ItemIntervals without(long id) {
+        int pos = indexOf(id);
+        if (pos < 0) {
+            return this;
+        }
+        return new ItemIntervals(removeAt(ids, pos), removeAt(starts, pos), removeAt(ends, pos));
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int firstStartNotBefore(long value) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void copyWithGap(long[] source, long[] target, int pos, long value) {
+        System.arraycopy(source, 0, target, 0, pos);
+        target[pos] = value;
+        System.arraycopy(source, pos, target, pos + 1, source.length - pos);
+    }
+
+    private static long[] removeAt(long[] source, int pos) {
+        long[] target = Arrays.copyOf(source, source.length - 1);
+        System.arraycopy(source, pos + 1, target, pos, source.length - pos - 1);
+        return target;
+    }
+}
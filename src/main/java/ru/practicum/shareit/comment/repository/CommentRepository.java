@@ -2,15 +2,25 @@ package ru.practicum.shareit.comment.repository;
 
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItem_IdIn(List<Long> itemsIds, Sort sort);
+    @EntityGraph(attributePaths = "user")
+    List<Comment> findAllByItem_IdIn(Collection<Long> itemsIds, Sort sort);
 
+    @EntityGraph(attributePaths = "user")
     List<Comment> findByItem_IdOrderByCreatedDesc(Long itemId);
 
+    @Query("SELECT DISTINCT c.item FROM Comment c WHERE c.user.id = :userId")
+    List<Item> findItemsByUser_Id(@Param("userId") Long userId);
+
 }
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.booking.enums.State;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Locale;
+
+/**
+ * Добавляет к http.server.requests тег state для эндпоинтов со списком бронирований.
+ * Prometheus требует одинаковый набор тегов у метрики, поэтому остальные запросы получают state=none,
+ * а нераспознанные значения сводятся к UNKNOWN, чтобы не раздувать кардинальность.
+ */
+@Component
+public class BookingStateTagsContributor implements WebMvcTagsContributor {
+
+    static final String STATE = "state";
+    private static final Tag NONE = Tag.of(STATE, "none");
+    private static final Tag UNKNOWN = Tag.of(STATE, "UNKNOWN");
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        return Tags.of(stateTag(request, handler));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.of(stateTag(request, handler));
+    }
+
+    private static Tag stateTag(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return NONE;
+        }
+        for (MethodParameter parameter : ((HandlerMethod) handler).getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if (requestParam != null && STATE.equals(requestParam.name())) {
+                String value = request.getParameter(STATE);
+                if (value == null && !ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue())) {
+                    value = requestParam.defaultValue();
+                }
+                return value == null ? UNKNOWN : toTag(value);
+            }
+        }
+        return NONE;
+    }
+
+    private static Tag toTag(String value) {
+        try {
+            return Tag.of(STATE, State.valueOf(value.toUpperCase(Locale.ROOT)).name());
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import ru.practicum.shareit.utility.MappingMetrics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Одна DEBUG-строка на запрос: сколько объектов собрали мапперы и сколько это заняло.
+ * У асинхронного запроса строка пишется после последнего диспатча, вместе с работой других потоков из RequestMetrics.
+ */
+@Slf4j
+public class MappingLogInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        MappingMetrics.drain();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestMetrics.addMapping(request, MappingMetrics.drain());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        MappingMetrics.Stats stats = MappingMetrics.drain();
+        stats.add(RequestMetrics.mapping(request));
+        if (stats.getObjects() > 0 && log.isDebugEnabled()) {
+            log.debug("{} {}: собрано {} объектов за {} мкс", request.getMethod(), request.getRequestURI(),
+                    stats.getObjects(), TimeUnit.NANOSECONDS.toMicros(stats.getNanos()));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный пул для чтений из /async/**: поток Tomcat отдаёт запрос в пул и освобождается,
+ * пока сервис ждёт БД. Сверх threads запросов ждут в очереди queue-capacity, дальше —
+ * RejectedExecutionException (503), а не рост числа потоков. Пул публикует метрики executor_* с name=shareit.read.
+ * SQL-выполнения и мапперы пула засчитываются запросу через RequestMetrics.
+ * Намеренно не бин типа Executor, чтобы не подменить applicationTaskExecutor для MVC async.
+ */
+@Slf4j
+@Component
+public class ReadOffload implements DisposableBean {
+
+    private final ExecutorService executor;
+
+    public ReadOffload(@Value("${shareit.read.executor.threads:32}") int threads,
+                       @Value("${shareit.read.executor.queue-capacity:2000}") int queueCapacity) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("read-"));
+        executor = ExecutorServiceMetrics.monitor(Metrics.globalRegistry, pool, "shareit.read");
+        log.info("Пул чтений: {} потоков, очередь {}", threads, queueCapacity);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> action) {
+        return CompletableFuture.supplyAsync(RequestMetrics.carry(action), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
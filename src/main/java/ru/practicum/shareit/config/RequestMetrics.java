@@ -0,0 +1,89 @@
+package ru.practicum.shareit.config;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.utility.MappingMetrics;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.function.Supplier;
+
+/**
+ * SqlStatementCounter и MappingMetrics считают в ThreadLocal, а часть запроса выполняется не в потоке Tomcat:
+ * в ReadOffload и в StreamingResponseBody. carry() снимает то, что такой поток насчитал, и складывает
+ * в атрибуты запроса; SqlStatementFilter, SqlStatementHeaderAdvice и MappingLogInterceptor прибавляют их к своему.
+ * Атрибуты пишутся в сам HttpServletRequest: RequestAttributes после первого диспатча уже неактивны.
+ */
+@UtilityClass
+public class RequestMetrics {
+
+    private static final String STATEMENTS_ATTRIBUTE = RequestMetrics.class.getName() + ".statements";
+    private static final String MAPPING_ATTRIBUTE = RequestMetrics.class.getName() + ".mapping";
+
+    /**
+     * Оборачивает работу для другого потока; вызывается в потоке запроса, вне запроса возвращает action как есть.
+     */
+    public <T> Supplier<T> carry(Supplier<T> action) {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return action;
+        }
+        return () -> {
+            long start = SqlStatementCounter.current();
+            MappingMetrics.drain();
+            try {
+                return action.get();
+            } finally {
+                addStatements(request, SqlStatementCounter.current() - start);
+                addMapping(request, MappingMetrics.drain());
+            }
+        };
+    }
+
+    public StreamingResponseBody carry(StreamingResponseBody body) {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return body;
+        }
+        return outputStream -> {
+            long start = SqlStatementCounter.current();
+            MappingMetrics.drain();
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                addStatements(request, SqlStatementCounter.current() - start);
+                addMapping(request, MappingMetrics.drain());
+            }
+        };
+    }
+
+    /**
+     * SQL-выполнения запроса в потоках, которые с ним уже закончили.
+     */
+    public long statements(HttpServletRequest request) {
+        Object statements = request.getAttribute(STATEMENTS_ATTRIBUTE);
+        return statements == null ? 0 : (long) statements;
+    }
+
+    public void addStatements(HttpServletRequest request, long statements) {
+        request.setAttribute(STATEMENTS_ATTRIBUTE, statements(request) + statements);
+    }
+
+    public MappingMetrics.Stats mapping(HttpServletRequest request) {
+        Object stats = request.getAttribute(MAPPING_ATTRIBUTE);
+        return stats == null ? new MappingMetrics.Stats() : (MappingMetrics.Stats) stats;
+    }
+
+    public void addMapping(HttpServletRequest request, MappingMetrics.Stats stats) {
+        MappingMetrics.Stats total = mapping(request);
+        total.add(stats);
+        request.setAttribute(MAPPING_ATTRIBUTE, total);
+    }
+
+    private HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
+}
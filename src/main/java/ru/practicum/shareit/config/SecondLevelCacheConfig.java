@@ -0,0 +1,31 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Отдельный CacheManager второго уровня кэша на каждую EntityManagerFactory.
+ * Провайдер Caffeine по умолчанию отдаёт один CacheManager на всю JVM, и контексты с разными базами
+ * (тестовые контексты на своих H2) видели бы сущности друг друга по совпадающим id.
+ * Регионы по-прежнему настраиваются в application.conf; Hibernate закрывает менеджер вместе с фабрикой.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer() {
+        return properties -> {
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(URI.create("shareit-" + UUID.randomUUID()), getClass().getClassLoader());
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+}
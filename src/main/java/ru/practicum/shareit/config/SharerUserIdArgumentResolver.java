@@ -0,0 +1,50 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import ru.practicum.shareit.user.service.UserExistenceService;
+import ru.practicum.shareit.utility.SharerUserId;
+
+import static ru.practicum.shareit.item.controller.ItemController.USER_ID;
+
+/**
+ * Разбирает заголовок X-Sharer-User-Id для параметров с @SharerUserId и один раз на запрос
+ * проверяет, что пользователь существует.
+ * Аргументы разрешаются по порядку параметров, поэтому тело с @Validated объявляется раньше @SharerUserId:
+ * невалидное тело от неизвестного пользователя, как и прежде, даёт 400, а не 404.
+ */
+@Component
+@RequiredArgsConstructor
+public class SharerUserIdArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserExistenceService userExistenceService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(SharerUserId.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        String header = webRequest.getHeader(USER_ID);
+        if (header == null) {
+            throw new MissingRequestHeaderException(USER_ID, parameter);
+        }
+        Long userId;
+        try {
+            userId = Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            throw new MethodArgumentTypeMismatchException(header, Long.class, parameter.getParameterName(), parameter, e);
+        }
+        userExistenceService.requireExists(userId);
+        return userId;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Счётчик SQL-выполнений текущего потока. Растёт монотонно, поэтому область (запрос, тест) считает
+ * разницу между двумя вызовами current() и вложенные области друг другу не мешают.
+ * Пакетное выполнение считается одним обращением к БД.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long current() {
+        return STATEMENTS.get()[0];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STATEMENTS.get()[0]++;
+    }
+}
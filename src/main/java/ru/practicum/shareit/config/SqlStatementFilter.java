@@ -0,0 +1,51 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Считает SQL-выполнения за HTTP-запрос и пишет их в распределение shareit.http.sql.statements.
+ * Начальное значение счётчика кладётся в атрибут запроса для SqlStatementHeaderAdvice.
+ * Асинхронный запрос проходит фильтр на каждом диспатче: выполнения каждого потока копятся в RequestMetrics,
+ * а распределение пишется после последнего диспатча.
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    static final String START_ATTRIBUTE = SqlStatementFilter.class.getName() + ".start";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = SqlStatementCounter.current();
+        request.setAttribute(START_ATTRIBUTE, start);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestMetrics.addStatements(request, SqlStatementCounter.current() - start);
+            if (!isAsyncStarted(request)) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("shareit.http.sql.statements")
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                        .register(Metrics.globalRegistry)
+                        .record(RequestMetrics.statements(request));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
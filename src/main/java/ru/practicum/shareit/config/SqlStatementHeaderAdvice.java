@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Заголовок X-Sql-Statement-Count с числом SQL-выполнений запроса. Включается вне прода
+ * через shareit.sql.statement-header.enabled.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "shareit.sql.statement-header.enabled", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SQL_STATEMENT_COUNT = "X-Sql-Statement-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest) {
+            HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+            Object start = servletRequest.getAttribute(SqlStatementFilter.START_ATTRIBUTE);
+            if (start != null) {
+                response.getHeaders().set(SQL_STATEMENT_COUNT, String.valueOf(RequestMetrics.statements(servletRequest)
+                        + SqlStatementCounter.current() - (long) start));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Режим shareit.virtual-threads.enabled=true: Tomcat обрабатывает каждый запрос (контроллер и @Transactional-сервис)
+ * в отдельном виртуальном потоке, на них же выполняются StreamingResponseBody и прочий MVC async.
+ * Нужен JDK 21+ (профиль jdk21); исполнитель берётся рефлексией, чтобы сборка на 11 не менялась.
+ * Код сервисов не держит synchronized вокруг JDBC: BookingIntervalIndex и UserExistenceService на j.u.c. locks.
+ * Прикалывают носитель synchronized внутри драйверов — H2 и pgjdbc до 42.6 (в профиле jdk21 поднят до 42.6.0);
+ * проверять -Djdk.tracePinnedThreads=short.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements WebMvcConfigurer {
+
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            protocolHandler.setExecutor(executor);
+            log.info("Запросы Tomcat выполняются в виртуальных потоках");
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("shareit.virtual-threads.enabled требует JDK 21+, запущено на "
+                    + Runtime.version());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель виртуальных потоков", e);
+        }
+    }
+}
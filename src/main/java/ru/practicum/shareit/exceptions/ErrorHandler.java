@@ -1,16 +1,24 @@
 package ru.practicum.shareit.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLException;
+import java.util.concurrent.RejectedExecutionException;
+
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFoundException(final NotFoundException e) {
@@ -39,6 +47,36 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+        log.info("409 {}", e.getMessage());
+        return new ErrorResponse("Запись изменена другим запросом, повторите запрос");
+    }
+
+    /**
+     * 23P01 — нарушено ограничение booking_item_period_excl: другой экземпляр приложения успел занять тот же
+     * интервал вещи. Ошибка приходит при сбросе INSERT/UPDATE, обычно на коммите, поэтому пакет бронирований
+     * в этом случае откатывается целиком. Остальные нарушения целостности — 500, как и раньше.
+     */
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(final DataIntegrityViolationException e) {
+        if (isExclusionViolation(e)) {
+            log.info("409 {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Вещь уже забронирована на это время"));
+        }
+        log.info("500 {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleRejectedExecutionException(final RejectedExecutionException e) {
+        log.warn("503 {}", e.getMessage());
+        return new ErrorResponse("Сервис перегружен, повторите запрос позже");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleUnhandledExceptions(final Throwable e) {
@@ -46,4 +84,16 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    private static boolean isExclusionViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                for (SQLException sql = (SQLException) cause; sql != null; sql = sql.getNextException()) {
+                    if (EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
 }
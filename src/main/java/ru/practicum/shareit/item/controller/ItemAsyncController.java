@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.config.ReadOffload;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.utility.PageableMaker;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static ru.practicum.shareit.item.controller.ItemController.USER_ID;
+
+/**
+ * Те же чтения, что GET /items, но сервис выполняется в ReadOffload, а не в потоке Tomcat.
+ */
+@RestController
+@RequestMapping("/async/items")
+@RequiredArgsConstructor
+public class ItemAsyncController {
+
+    private final ItemService itemService;
+    private final ReadOffload readOffload;
+
+    @GetMapping
+    public CompletableFuture<List<ItemDtoWithBooking>> getListItemByUserId(@RequestHeader(USER_ID) Long userId,
+                                                                           @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                                           @RequestParam(required = false, defaultValue = "10") Integer size) {
+        Pageable pageable = PageableMaker.makePageable(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        return readOffload.supply(() -> itemService.getListItemByUserId(userId, pageable));
+    }
+
+    /**
+     * Условный GET, как у GET /items/{itemId}: WebRequest из потока ReadOffload не трогаем, поэтому ETag уходит
+     * в ResponseEntity, и 304 по If-None-Match отдаёт обработчик ResponseEntity. Если ETag совпал дословно,
+     * карточку не собираем.
+     */
+    @GetMapping("/{itemId}")
+    public CompletableFuture<ResponseEntity<ItemDtoWithBooking>> getItemById(@RequestHeader(USER_ID) Long userId,
+                                                                             @PathVariable Long itemId,
+                                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return readOffload.supply(() -> {
+            String eTag = itemService.getItemETag(itemId, userId);
+            if (eTag.equals(ifNoneMatch)) {
+                return ResponseEntity.ok().eTag(eTag).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(itemService.getItemById(itemId, userId));
+        });
+    }
+}
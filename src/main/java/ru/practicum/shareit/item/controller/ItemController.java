@@ -5,6 +5,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.comment.dto.CommentDtoRequest;
 import ru.practicum.shareit.comment.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.utility.Create;
 import ru.practicum.shareit.utility.PageableMaker;
+import ru.practicum.shareit.utility.SharerUserId;
 import ru.practicum.shareit.utility.Update;
 
 import java.util.Collections;
@@ -36,20 +38,24 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDtoWithBooking getItemById(@RequestHeader(USER_ID) Long userId,
-                                          @PathVariable Long itemId) {
+                                          @PathVariable Long itemId,
+                                          WebRequest request) {
+        if (request.checkNotModified(itemService.getItemETag(itemId, userId))) {
+            return null;
+        }
         return itemService.getItemById(itemId, userId);
     }
 
     @PostMapping
-    public ItemDtoResponse createItem(@RequestHeader(USER_ID) Long userId,
-                                      @Validated({Create.class}) @RequestBody ItemDtoRequest itemDtoRequest) {
+    public ItemDtoResponse createItem(@Validated({Create.class}) @RequestBody ItemDtoRequest itemDtoRequest,
+                                      @SharerUserId Long userId) {
         return itemService.createItem(userId, itemDtoRequest);
     }
 
     @PostMapping("/{itemId}/comment")
-    public CommentDtoResponse addComment(@RequestHeader(USER_ID) Long userId,
-                                         @PathVariable Long itemId,
-                                         @Validated({Create.class}) @RequestBody CommentDtoRequest commentDtoRequest) {
+    public CommentDtoResponse addComment(@PathVariable Long itemId,
+                                         @Validated({Create.class}) @RequestBody CommentDtoRequest commentDtoRequest,
+                                         @SharerUserId Long userId) {
         return itemService.addComment(itemId, userId, commentDtoRequest);
     }
 
@@ -1,27 +1,44 @@
 package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
-import lombok.extern.slf4j.Slf4j;
 
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.utility.MappingMetrics;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @UtilityClass
-@Slf4j
 public class ItemMapper {
 
+    private static final String MAPPER = "item";
+
     public ItemDtoResponse toItemDto(Item item) {
+        long start = System.nanoTime();
+        ItemDtoResponse response = map(item);
+        MappingMetrics.record(MAPPER, 1, System.nanoTime() - start);
+        return response;
+    }
+
+    public List<ItemDtoResponse> toItemDtoList(List<Item> items) {
+        long start = System.nanoTime();
+        List<ItemDtoResponse> responses = items.stream()
+                .map(ItemMapper::map)
+                .collect(Collectors.toList());
+        MappingMetrics.record(MAPPER, responses.size(), System.nanoTime() - start);
+        return responses;
+    }
+
+    private ItemDtoResponse map(Item item) {
         Long requestId = (item.getRequest() == null ? null : item.getRequest().getId());
 
-        log.info("Собираем вещь в ДТО");
         return ItemDtoResponse.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -33,7 +50,6 @@ public class ItemMapper {
     public ItemDtoRequest toItemDtoReq(Item item) {
         Long requestId = (item.getRequest() == null ? null : item.getRequest().getId());
 
-        log.info("Собираем вещь в ДТО");
         return ItemDtoRequest.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -65,7 +81,6 @@ public class ItemMapper {
             item.setRequest(itemRequest);
         }
 
-        log.info("Собираем вещь из ДТО");
         return Item.builder()
                 .id(itemDtoRequest.getId())
                 .name(itemDtoRequest.getName())
@@ -78,31 +93,12 @@ public class ItemMapper {
     public ItemDtoWithBooking toItemDtoWithBooking(List<Comment> commentList, Booking lastBooking,
                                                    Booking nextBooking, Item item) {
 
-        List<ItemDtoWithBooking.Comment> comments = commentList.stream()
-                .map(comment -> {
-                    ItemDtoWithBooking.Comment comment1 = new ItemDtoWithBooking.Comment();
-                    comment1.setId(comment.getId());
-                    comment1.setText(comment.getText());
-                    comment1.setAuthorName(comment.getUser().getName());
-                    comment1.setCreated(comment.getCreated());
-                    return comment1;
-                }).collect(Collectors.toList());
+        List<ItemDtoWithBooking.Comment> comments = toShortComments(commentList);
 
-        ItemDtoWithBooking.Booking lstBooking = new ItemDtoWithBooking.Booking();
-        if (lastBooking != null) {
-            lstBooking.setId(lastBooking.getId());
-            lstBooking.setBookerId(lastBooking.getBooker().getId());
-        } else {
-            lstBooking = null;
-        }
-
-        ItemDtoWithBooking.Booking nextBooking1 = new ItemDtoWithBooking.Booking();
-        if (nextBooking != null) {
-            nextBooking1.setId(nextBooking.getId());
-            nextBooking1.setBookerId(nextBooking.getBooker().getId());
-        } else {
-            nextBooking1 = null;
-        }
+        ItemDtoWithBooking.Booking lstBooking = lastBooking == null ? null
+                : toShortBooking(lastBooking.getId(), lastBooking.getBooker().getId());
+        ItemDtoWithBooking.Booking nextBooking1 = nextBooking == null ? null
+                : toShortBooking(nextBooking.getId(), nextBooking.getBooker().getId());
 
         return ItemDtoWithBooking.builder()
                 .id(item.getId())
@@ -115,4 +111,44 @@ public class ItemMapper {
                 .build();
     }
 
+    public ItemDtoWithBooking toItemDtoWithBooking(List<Comment> commentList, ItemBookingSummary bookings, Item item) {
+        ItemDtoWithBooking.Booking lastBooking = null;
+        ItemDtoWithBooking.Booking nextBooking = null;
+        if (bookings != null) {
+            lastBooking = bookings.getLastBookingId() == null ? null
+                    : toShortBooking(bookings.getLastBookingId(), bookings.getLastBookerId());
+            nextBooking = bookings.getNextBookingId() == null ? null
+                    : toShortBooking(bookings.getNextBookingId(), bookings.getNextBookerId());
+        }
+
+        return ItemDtoWithBooking.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .comments(toShortComments(commentList))
+                .build();
+    }
+
+    private List<ItemDtoWithBooking.Comment> toShortComments(List<Comment> commentList) {
+        return commentList.stream()
+                .map(comment -> {
+                    ItemDtoWithBooking.Comment comment1 = new ItemDtoWithBooking.Comment();
+                    comment1.setId(comment.getId());
+                    comment1.setText(comment.getText());
+                    comment1.setAuthorName(comment.getUser().getName());
+                    comment1.setCreated(comment.getCreated());
+                    return comment1;
+                }).collect(Collectors.toList());
+    }
+
+    private ItemDtoWithBooking.Booking toShortBooking(Long bookingId, Long bookerId) {
+        ItemDtoWithBooking.Booking booking = new ItemDtoWithBooking.Booking();
+        booking.setId(bookingId);
+        booking.setBookerId(bookerId);
+        return booking;
+    }
+
 }
@@ -2,25 +2,34 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-
-    @Query("SELECT i FROM Item i WHERE i.request.id IS not null")
-    List<Item> findAllByRequestIsPresent();
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
-    @Query("SELECT i.id FROM Item i WHERE i.owner.id = :id")
-    List<Long> findAllIdByOwnerId(@Param("id") Long ownerId, Pageable pageable);
+public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.requester"})
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request"})
     List<Item> findAllByRequest_Id(Long requestId, Sort sort);
 
+    @EntityGraph(attributePaths = {"owner", "request"})
+    List<Item> findAllByRequest_IdIn(Collection<Long> requestIds);
+
+    List<ItemSearchDocument> findAllProjectedBy();
+
     @Query("SELECT i FROM Item i WHERE i.available = true " +
             " AND (LOWER(i.name) LIKE LOWER(CONCAT('%',:text,'%') ) " +
             " OR LOWER(i.description) LIKE LOWER(CONCAT('%',:text,'%') ) )")
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Value;
+
+/**
+ * Поля вещи, которые нужны поисковому индексу; загружается без связанных сущностей.
+ */
+@Value
+public class ItemSearchDocument {
+
+    Long id;
+    String name;
+    String description;
+    Boolean available;
+
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании.
+ * Реализация выбирается свойством shareit.item.search.engine: postgres или memory.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Доступные вещи, в названии или описании которых встречается text (без учёта регистра),
+     * по возрастанию ID с учётом from/size из pageable.
+     */
+    List<Item> search(String text, Pageable pageable);
+
+    default void index(Item item) {
+    }
+
+    default void remove(Long itemId) {
+    }
+}
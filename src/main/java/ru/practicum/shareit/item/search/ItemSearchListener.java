@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utility.TransactionCallbacks;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Передаёт изменения Item в поисковый индекс после коммита, чтобы откаченные транзакции в него не попадали.
+ * Срабатывает и на createItem/updateItem, и на прямые записи через ItemRepository.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchListener {
+
+    private final ObjectProvider<ItemSearchEngine> searchEngine;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Item item) {
+        Item snapshot = Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .build();
+        TransactionCallbacks.afterCommit(() -> searchEngine.ifAvailable(engine -> engine.index(snapshot)));
+    }
+
+    @PostRemove
+    public void onRemove(Item item) {
+        Long itemId = item.getId();
+        TransactionCallbacks.afterCommit(() -> searchEngine.ifAvailable(engine -> engine.remove(itemId)));
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отображение положительных long в int без боксинга, устроено как LongHashSet: открытая адресация
+ * с линейным пробированием, 0 — признак пустой ячейки, удалённые ключи помечаются REMOVED.
+ */
+final class LongIntHashMap {
+
+    static final int ABSENT = -1;
+
+    private static final long EMPTY = 0L;
+    private static final long REMOVED = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+    private int used;
+
+    /**
+     * Значение по ключу или ABSENT.
+     */
+    int get(long key) {
+        if (key <= 0) {
+            return ABSENT;
+        }
+        int mask = keys.length - 1;
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            long slot = keys[index];
+            if (slot == key) {
+                return values[index];
+            }
+            if (slot == EMPTY) {
+                return ABSENT;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("ID должен быть положительным: " + key);
+        }
+        int mask = keys.length - 1;
+        int free = -1;
+        int index = mix(key) & mask;
+        for (; ; index = (index + 1) & mask) {
+            long slot = keys[index];
+            if (slot == key) {
+                values[index] = value;
+                return;
+            }
+            if (slot == EMPTY) {
+                break;
+            }
+            if (slot == REMOVED && free < 0) {
+                free = index;
+            }
+        }
+        if (free >= 0) {
+            index = free;
+        } else {
+            used++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (used * 4 >= keys.length * 3) {
+            rehash(size * 2 > keys.length / 2 ? keys.length * 2 : keys.length);
+        }
+    }
+
+    /**
+     * Удаляет ключ и возвращает его значение или ABSENT.
+     */
+    int remove(long key) {
+        if (key <= 0) {
+            return ABSENT;
+        }
+        int mask = keys.length - 1;
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            long slot = keys[index];
+            if (slot == key) {
+                keys[index] = REMOVED;
+                size--;
+                return values[index];
+            }
+            if (slot == EMPTY) {
+                return ABSENT;
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        used = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = size;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key > 0) {
+                int index = mix(key) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по сгенерированной колонке items.search_vector (tsvector) с GIN-индексом,
+ * см. миграцию db/migration/postgresql/V3__item_search_vector.sql.
+ * Каждое слово запроса ищется как префикс лексемы, все слова должны встретиться.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String SEARCH = "SELECT i.* FROM items i " +
+            "WHERE i.is_available = TRUE AND i.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text, Pageable pageable) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        Query nativeQuery = entityManager.createNativeQuery(SEARCH, Item.class)
+                .setParameter("query", query);
+        if (pageable != null && pageable.isPaged()) {
+            nativeQuery.setFirstResult((int) pageable.getOffset());
+            nativeQuery.setMaxResults(pageable.getPageSize());
+        }
+        return nativeQuery.getResultList();
+    }
+
+    static String toTsQuery(String text) {
+        return NON_WORD.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
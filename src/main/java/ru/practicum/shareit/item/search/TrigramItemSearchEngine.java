@@ -0,0 +1,306 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Встроенный индекс по триграммам названия и описания вещей.
+ * Списки вхождений — отсортированные long[] (LongPostings) с ID вещей. Текст и доступность лежат в плотных
+ * слотах: ID отображается в слот через LongIntHashMap, освобождённые слоты переиспользуются, поэтому память
+ * растёт с числом вещей, а не с наибольшим ID. Доступность хранится отдельным BitSet по слотам,
+ * поэтому смена available не переиндексирует текст. Триграммы запроса сужают набор кандидатов,
+ * затем кандидаты проверяются полным вхождением подстроки.
+ * Строится из ItemRepository при старте, дальше обновляется через ItemSearchListener.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+
+    static final int GRAM = 3;
+    private static final long[] NO_IDS = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostings> postings = new HashMap<>();
+    private final LongIntHashMap slots = new LongIntHashMap();
+    private final LongPostings indexedIds = new LongPostings();
+    private final BitSet available = new BitSet();
+    private String[] names = new String[0];
+    private String[] descriptions = new String[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int nextSlot;
+
+    @PostConstruct
+    public void rebuild() {
+        List<ItemSearchDocument> documents = itemRepository.findAllProjectedBy();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slots.clear();
+            indexedIds.clear();
+            available.clear();
+            names = new String[0];
+            descriptions = new String[0];
+            freeCount = 0;
+            nextSlot = 0;
+            for (ItemSearchDocument document : documents) {
+                put(document.getId(), document.getName(), document.getDescription(), document.getAvailable());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс построен: {} вещей, {} триграмм", documents.size(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        long[] ids = searchIds(text, pageable);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> boxedIds = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Item> items = itemRepository.findAllById(boxedIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Item item = items.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ID подходящих доступных вещей по возрастанию; сканирование останавливается, как только набрана страница.
+     */
+    public long[] searchIds(String text, Pageable pageable) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return NO_IDS;
+        }
+        long skip = pageable == null || pageable.isUnpaged() ? 0 : pageable.getOffset();
+        int limit = pageable == null || pageable.isUnpaged() ? Integer.MAX_VALUE : pageable.getPageSize();
+        lock.readLock().lock();
+        try {
+            Matches matches = new Matches(skip, limit);
+            if (query.length() < GRAM) {
+                scanAvailable(query, matches);
+            } else {
+                scanCandidates(query, matches);
+            }
+            return matches.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            long id = requireId(item.getId());
+            int slot = slots.get(id);
+            String name = normalize(item.getName());
+            String description = normalize(item.getDescription());
+            if (slot != LongIntHashMap.ABSENT && name.equals(names[slot]) && description.equals(descriptions[slot])) {
+                available.set(slot, Boolean.TRUE.equals(item.getAvailable()));
+                return;
+            }
+            delete(id);
+            put(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            delete(requireId(itemId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void scanAvailable(String query, Matches matches) {
+        for (int p = 0; p < indexedIds.size() && !matches.isFull(); p++) {
+            long id = indexedIds.get(p);
+            int slot = slots.get(id);
+            if (available.get(slot) && textMatches(slot, query)) {
+                matches.add(id);
+            }
+        }
+    }
+
+    private void scanCandidates(String query, Matches matches) {
+        Set<String> grams = trigrams(query);
+        LongPostings[] lists = new LongPostings[grams.size()];
+        int i = 0;
+        for (String gram : grams) {
+            LongPostings posting = postings.get(gram);
+            if (posting == null) {
+                return;
+            }
+            lists[i++] = posting;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        LongPostings smallest = lists[0];
+        for (int p = 0; p < smallest.size() && !matches.isFull(); p++) {
+            long id = smallest.get(p);
+            int slot = slots.get(id);
+            if (!available.get(slot) || !inAll(lists, id) || !textMatches(slot, query)) {
+                continue;
+            }
+            matches.add(id);
+        }
+    }
+
+    private static boolean inAll(LongPostings[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean textMatches(int slot, String query) {
+        return names[slot].contains(query) || descriptions[slot].contains(query);
+    }
+
+    private void put(Long itemId, String name, String description, Boolean isAvailable) {
+        long id = requireId(itemId);
+        int slot = allocateSlot();
+        slots.put(id, slot);
+        indexedIds.add(id);
+        names[slot] = normalize(name);
+        descriptions[slot] = normalize(description);
+        available.set(slot, Boolean.TRUE.equals(isAvailable));
+        for (String gram : trigrams(slot)) {
+            postings.computeIfAbsent(gram, g -> new LongPostings()).add(id);
+        }
+    }
+
+    private void delete(long id) {
+        int slot = slots.remove(id);
+        if (slot == LongIntHashMap.ABSENT) {
+            return;
+        }
+        for (String gram : trigrams(slot)) {
+            LongPostings posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        indexedIds.remove(id);
+        names[slot] = null;
+        descriptions[slot] = null;
+        available.clear(slot);
+        releaseSlot(slot);
+    }
+
+    private Set<String> trigrams(int slot) {
+        Set<String> grams = trigrams(names[slot]);
+        grams.addAll(trigrams(descriptions[slot]));
+        return grams;
+    }
+
+    /**
+     * Свободный слот из освобождённых удалением или следующий новый.
+     */
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        int slot = nextSlot++;
+        if (slot == names.length) {
+            int capacity = Math.max(16, names.length + (names.length >> 1));
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        return slot;
+    }
+
+    private void releaseSlot(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private static long requireId(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException(String.format("ID вещи %s нельзя проиндексировать", id));
+        }
+        return id;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Matches {
+        private long skip;
+        private final int limit;
+        private long[] ids = new long[16];
+        private int size;
+
+        private Matches(long skip, int limit) {
+            this.skip = skip;
+            this.limit = limit;
+        }
+
+        private boolean isFull() {
+            return size >= limit;
+        }
+
+        private void add(long id) {
+            if (skip > 0) {
+                skip--;
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
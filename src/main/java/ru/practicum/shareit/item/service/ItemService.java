@@ -15,6 +15,8 @@ public interface ItemService {
 
     ItemDtoWithBooking getItemById(Long itemId, Long userId);
 
+    String getItemETag(Long itemId, Long userId);
+
     ItemDtoResponse createItem(Long userId, ItemDtoRequest itemDtoRequest);
 
     ItemDtoResponse updateItem(Long userId, Long itemId, ItemDtoResponse itemDtoResponse);
@@ -6,7 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.dto.CommentDtoRequest;
 import ru.practicum.shareit.comment.model.Comment;
@@ -21,16 +21,19 @@ import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.ETags;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -45,21 +48,30 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingDbStorage;
     private final CommentRepository commentDbStorage;
+    private final ItemSearchEngine itemSearchEngine;
 
+    @Transactional
     @Override
     public List<ItemDtoWithBooking> getListItemByUserId(Long userId, Pageable pageable) {
-        Map<Item, List<Comment>> commentsMap = commentDbStorage.findAllByItem_IdIn(itemRepository.findAllIdByOwnerId(userId, pageable), Sort.by(Sort.Direction.DESC, "Created"))
-                .stream()
-                .collect(Collectors.groupingBy(c -> c.getItem()));
+        List<Item> items = itemRepository.findAllByOwnerId(userId, pageable);
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(toList());
 
-        Map<Item, List<Booking>> bookingsMap = bookingDbStorage.findAllByItem_IdInAndStatus(itemRepository.findAllIdByOwnerId(userId, pageable), BookingStatus.APPROVED, Sort.by(Sort.Direction.DESC, "Start"))
+        Map<Long, ItemBookingSummary> bookingsMap = bookingDbStorage.findLastAndNextByItemIds(itemIds, LocalDateTime.now())
                 .stream()
-                .collect(Collectors.groupingBy(b -> b.getItem()));
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
 
-        List<Item> items = itemRepository.findAllByOwnerId(userId, pageable);
+        Map<Long, List<Comment>> commentsMap = commentDbStorage.findAllByItem_IdIn(itemIds, Sort.by(Sort.Direction.DESC, "created"))
+                .stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
 
         return items.stream()
-                .map(item -> addBookingsAndComments(item, bookingsMap.getOrDefault(item, List.of()), commentsMap.getOrDefault(item, List.of())))
+                .map(item -> ItemMapper.toItemDtoWithBooking(commentsMap.getOrDefault(item.getId(), List.of()),
+                        bookingsMap.get(item.getId()), item))
                 .collect(Collectors.toList());
     }
 
@@ -70,28 +82,27 @@ public class ItemServiceImpl implements ItemService {
         List<Comment> commentList = getCommentsByItemId(item);
 
         if (userId.equals(item.getOwner().getId())) {
-            LocalDateTime ldtNow = LocalDateTime.now();
-            Booking lastBooking;
-            Booking nextBooking;
-            Optional<Booking> lastBookingOpt = bookingDbStorage.findFirstByItem_IdAndEndBeforeAndStatusOrderByEndDesc(itemId, ldtNow, BookingStatus.APPROVED);
-            if (lastBookingOpt.isEmpty()) {
-                lastBooking = bookingDbStorage.findFirstByItem_IdAndEndAfterAndStatusOrderByEndDesc(itemId, ldtNow, BookingStatus.APPROVED);
-            } else {
-                lastBooking = lastBookingOpt.get();
-            }
-            Optional<Booking> nextBookingOpt = bookingDbStorage
-                    .findTopByItem_IdAndStartAfterAndStatusOrderByStartAsc(itemId, ldtNow, BookingStatus.APPROVED);
-            if (nextBookingOpt.isEmpty()) {
-                nextBooking = null;
-            } else {
-                nextBooking = nextBookingOpt.get();
-            }
-            return ItemMapper.toItemDtoWithBooking(commentList, lastBooking, nextBooking, item);
+            ItemBookingSummary bookings = bookingDbStorage.findLastAndNextByItemIds(List.of(itemId), LocalDateTime.now())
+                    .stream()
+                    .findFirst()
+                    .orElse(null);
+            return ItemMapper.toItemDtoWithBooking(commentList, bookings, item);
         } else {
             return ItemMapper.toItemDtoWithBooking(commentList, null, null, item);
         }
     }
 
+    /**
+     * ETag карточки вещи без чтения комментариев и бронирований — сама вещь обычно берётся из кэша второго уровня.
+     * Владелец видит lastBooking/nextBooking, поэтому его вариант представления отличается от остальных.
+     */
+    @Override
+    public String getItemETag(Long itemId, Long userId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Вещь с ID %s не найдена", itemId)));
+        return ETags.of("item", itemId, item.getUpdated(), userId.equals(item.getOwner().getId()) ? "owner" : "viewer");
+    }
+
     @Transactional
     public ItemDtoResponse createItem(Long userId, ItemDtoRequest itemDtoRequest) {
         Item item = ItemMapper.toItemTemp(itemDtoRequest);
@@ -104,6 +115,7 @@ public class ItemServiceImpl implements ItemService {
             ItemRequest itemRequest = itemRequestRepository.findById(itemDtoRequest.getRequestId())
                     .orElseThrow(() -> new NotFoundException("Запрос не существует!"));
             item.setRequest(itemRequest);
+            itemRequest.setUpdated(LocalDateTime.now());
         }
 
         log.info("Создали вещь с ID {}", item.getId());
@@ -135,17 +147,20 @@ public class ItemServiceImpl implements ItemService {
         if (item.getAvailable() != null) {
             updatedItem.setAvailable(item.getAvailable());
         }
+        if (updatedItem.getRequest() != null) {
+            updatedItem.getRequest().setUpdated(LocalDateTime.now());
+        }
 
         return ItemMapper.toItemDto(itemRepository.save(updatedItem));
     }
 
     @Override
     public List<ItemDtoResponse> searchItem(String text, Pageable pageable) {
+        if (text.isBlank()) {
+            return List.of();
+        }
 
-        return itemRepository.searchItem(text, pageable)
-                .stream()
-                .map(ItemMapper::toItemDto)
-                .collect(toList());
+        return ItemMapper.toItemDtoList(itemSearchEngine.search(text, pageable));
     }
 
     @Transactional
@@ -178,6 +193,7 @@ public class ItemServiceImpl implements ItemService {
 
         comment.setCreated(ldtNow);
         commentDbStorage.save(comment);
+        item.get().setUpdated(ldtNow);
         log.info("Создан комментарий с ID {}", comment.getId());
 
         return CommentMapper.toCommentDto(comment);
@@ -186,20 +202,4 @@ public class ItemServiceImpl implements ItemService {
     public List<Comment> getCommentsByItemId(Item item) {
         return commentDbStorage.findByItem_IdOrderByCreatedDesc(item.getId());
     }
-
-    private static ItemDtoWithBooking addBookingsAndComments(Item item, List<Booking> bookings, List<Comment> comments) {
-        LocalDateTime ldtNow = LocalDateTime.now();
-        Booking lastBooking = bookings.stream()
-                .filter(b -> !b.getStart().isAfter(ldtNow))
-                .findFirst()
-                .orElse(null);
-        Booking nextBooking = bookings.stream()
-                .filter(b -> !b.getStart().isBefore(ldtNow))
-                .reduce((first, second) -> second).orElse(null);
-        List<Comment> itemComments = comments.stream()
-                .filter(comment -> comment.getItem().equals(item))
-                .collect(Collectors.toList());
-
-        return ItemMapper.toItemDtoWithBooking(itemComments, lastBooking, nextBooking, item);
-    }
 }
@@ -2,9 +2,11 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.utility.SharerUserId;
 
 import java.util.List;
 
@@ -19,18 +21,22 @@ public class ItemRequestController {
     public static final String USER_ID = "X-Sharer-User-Id";
 
     @PostMapping
-    public ItemRequestDtoResponse createItemRequest(@RequestHeader(USER_ID) Long userId,
+    public ItemRequestDtoResponse createItemRequest(@SharerUserId Long userId,
                                                     @RequestBody ItemRequestDtoRequest itemRequestDto) {
         return itemRequestService.createItemRequest(userId, itemRequestDto);
     }
 
     @GetMapping()
-    public List<ItemRequestDtoResponse> getAllMyItemRequest(@RequestHeader(USER_ID) Long userId) {
+    public List<ItemRequestDtoResponse> getAllMyItemRequest(@SharerUserId Long userId) {
         return itemRequestService.getAllMyItemRequest(userId);
     }
 
     @GetMapping("/{id}")
-    public ItemRequestDtoResponse getItemRequestById(@RequestHeader(USER_ID) long userId, @PathVariable Long id) {
+    public ItemRequestDtoResponse getItemRequestById(@SharerUserId Long userId, @PathVariable Long id,
+                                                     WebRequest request) {
+        if (request.checkNotModified(itemRequestService.getItemRequestETag(userId, id))) {
+            return null;
+        }
         return itemRequestService.getItemRequestById(userId, id);
     }
 
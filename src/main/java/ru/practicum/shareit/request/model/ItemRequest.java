@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.Timestamped;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -9,14 +12,17 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "requests")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Table(name = "requests", schema = "public")
-public class ItemRequest {
+public class ItemRequest extends Timestamped {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+        @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
         private Long id;
         @Column(nullable = false)
         private String description;
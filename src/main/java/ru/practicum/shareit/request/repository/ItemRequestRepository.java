@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -10,9 +11,10 @@ import java.util.List;
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-
+    @EntityGraph(attributePaths = "requester")
     List<ItemRequest> findAllByRequester_IdOrderByCreatedAsc(Long userId);
 
+    @EntityGraph(attributePaths = "requester")
     List<ItemRequest> findByRequester_IdNot(Long userId, Pageable pageable);
 
 }
@@ -13,6 +13,8 @@ public interface ItemRequestService {
 
     ItemRequestDtoResponse getItemRequestById(Long userId, Long itemRequestId);
 
+    String getItemRequestETag(Long userId, Long itemRequestId);
+
     List<ItemRequestDtoResponse> findAll(Long userId, int from, int size);
 
 }
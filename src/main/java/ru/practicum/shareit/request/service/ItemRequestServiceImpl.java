@@ -15,12 +15,13 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.ETags;
 import ru.practicum.shareit.utility.PageableMaker;
 
+import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -32,6 +33,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final UserExistenceService userExistenceService;
     private final ItemRepository itemRepository;
 
     @Override
@@ -49,23 +51,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.toItemRequestDtoResponse(itemRequest, null);
     }
 
+    @Transactional
     @Override
     public List<ItemRequestDtoResponse> getAllMyItemRequest(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не найден", userId)));
+        userExistenceService.requireExists(userId);
 
-        Map<Long, List<Item>> requestItemMap = extractItemsToRequests();
-        return itemRequestRepository.findAllByRequester_IdOrderByCreatedAsc(userId)
-                .stream()
-                .map(itemRequest
-                        -> ItemRequestMapper.toItemRequestDtoResponse(itemRequest, requestItemMap.get(itemRequest.getId())))
-                .collect(Collectors.toList());
+        return toItemRequestDtoResponses(itemRequestRepository.findAllByRequester_IdOrderByCreatedAsc(userId));
     }
 
     @Override
     public ItemRequestDtoResponse getItemRequestById(Long userId, Long itemRequestId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким ID не найден")));
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("Пользователь с таким ID не найден");
+        }
 
         ItemRequest itemRequest = itemRequestRepository.findById(itemRequestId)
                 .orElseThrow(() -> new NotFoundException(String.format("Запрос не существует!")));
@@ -74,30 +72,48 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.toItemRequestDtoResponse(itemRequest, items);
     }
 
+    /**
+     * ETag запроса без чтения откликнувшихся вещей: их создание и изменение сдвигают updated запроса.
+     */
+    @Override
+    public String getItemRequestETag(Long userId, Long itemRequestId) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("Пользователь с таким ID не найден");
+        }
+
+        ItemRequest itemRequest = itemRequestRepository.findById(itemRequestId)
+                .orElseThrow(() -> new NotFoundException("Запрос не существует!"));
+        return ETags.of("request", itemRequestId, itemRequest.getUpdated(), null);
+    }
+
+    @Transactional
     @Override
     public List<ItemRequestDtoResponse> findAll(Long userId, int from, int size) {
         Pageable pageable = PageableMaker.makePageable(from, size, Sort.by("created").ascending());
-        Map<Long, List<Item>> requestItemMap = extractItemsToRequests();
-        return itemRequestRepository.findByRequester_IdNot(userId, pageable)
-                .stream()
-                .map(itemRequest
-                        -> ItemRequestMapper.toItemRequestDtoResponse(itemRequest, requestItemMap.get(itemRequest.getId())))
+        return toItemRequestDtoResponses(itemRequestRepository.findByRequester_IdNot(userId, pageable));
+    }
+
+    private List<ItemRequestDtoResponse> toItemRequestDtoResponses(List<ItemRequest> itemRequests) {
+        Map<Long, List<Item>> requestItemMap = extractItemsToRequests(itemRequests);
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestMapper.toItemRequestDtoResponse(itemRequest,
+                        requestItemMap.getOrDefault(itemRequest.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
-    private Map<Long, List<Item>> extractItemsToRequests() {
-        Map<Long, List<Item>> requestItemMap = new HashMap<>();
-        List<Item> itemList = itemRepository.findAllByRequestIsPresent();
-        List<ItemRequest> itemRequestList = itemRequestRepository.findAll();
-        for (ItemRequest itemRequest : itemRequestList) {
-            List<Item> itemsToAdd = new ArrayList<>();
-            for (Item item : itemList) {
-                if (item.getRequest().getId().equals(itemRequest.getId()))
-                    itemsToAdd.add(item);
-            }
-            requestItemMap.put(itemRequest.getId(), itemsToAdd);
+    /**
+     * Вещи только для запросов текущей страницы: один запрос по их ID и группировка за один проход.
+     */
+    private Map<Long, List<Item>> extractItemsToRequests(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Map.of();
         }
-        return requestItemMap;
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        return itemRepository.findAllByRequest_IdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
     }
 
     private void validate(ItemRequest itemRequest) {
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -21,7 +22,10 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/{userId}")
-    public UserDto getUserDtoById(@PathVariable Long userId) {
+    public UserDto getUserDtoById(@PathVariable Long userId, WebRequest request) {
+        if (request.checkNotModified(userService.getUserETag(userId))) {
+            return null;
+        }
         return UserMapper.userToDto(userService.getUserById(userId));
     }
 
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmailAndId(String email, Long id);
 
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
+
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.user.service;
+
+/**
+ * Множество положительных long без боксинга: открытая адресация с линейным пробированием.
+ * 0 — признак пустой ячейки, удалённые ячейки помечаются REMOVED и переиспользуются при вставке.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final long REMOVED = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] slots;
+    private int size;
+    private int used;
+
+    LongHashSet() {
+        this(INITIAL_CAPACITY);
+    }
+
+    LongHashSet(int expectedSize) {
+        slots = new long[capacityFor(expectedSize)];
+    }
+
+    boolean contains(long id) {
+        if (id <= 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        for (int index = mix(id) & mask; ; index = (index + 1) & mask) {
+            long slot = slots[index];
+            if (slot == id) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    boolean add(long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("ID должен быть положительным: " + id);
+        }
+        int mask = slots.length - 1;
+        int free = -1;
+        int index = mix(id) & mask;
+        for (; ; index = (index + 1) & mask) {
+            long slot = slots[index];
+            if (slot == id) {
+                return false;
+            }
+            if (slot == EMPTY) {
+                break;
+            }
+            if (slot == REMOVED && free < 0) {
+                free = index;
+            }
+        }
+        if (free >= 0) {
+            slots[free] = id;
+        } else {
+            slots[index] = id;
+            used++;
+        }
+        size++;
+        if (used * 4 >= slots.length * 3) {
+            rehash(size * 2 > slots.length / 2 ? slots.length * 2 : slots.length);
+        }
+        return true;
+    }
+
+    boolean remove(long id) {
+        if (id <= 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        for (int index = mix(id) & mask; ; index = (index + 1) & mask) {
+            long slot = slots[index];
+            if (slot == id) {
+                slots[index] = REMOVED;
+                size--;
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        used = size;
+        int mask = capacity - 1;
+        for (long id : old) {
+            if (id > 0) {
+                int index = mix(id) & mask;
+                while (slots[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = id;
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * 3 <= expectedSize * 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.TransactionCallbacks;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+
+/**
+ * Поддерживает UserExistenceService при createUser/deleteUserById и прямых записях через UserRepository.
+ * Изменение применяется сразу и отменяется при откате транзакции.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserExistenceListener {
+
+    private final ObjectProvider<UserExistenceService> userExistenceService;
+
+    @PostPersist
+    public void onPersist(User user) {
+        Long userId = user.getId();
+        userExistenceService.ifAvailable(service -> {
+            service.add(userId);
+            TransactionCallbacks.onRollback(() -> service.remove(userId));
+        });
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        Long userId = user.getId();
+        userExistenceService.ifAvailable(service -> {
+            service.remove(userId);
+            TransactionCallbacks.onRollback(() -> service.add(userId));
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Проверка существования пользователя по ID без загрузки сущности.
+ * Множество ID прогревается при старте и дальше поддерживается UserExistenceListener.
+ * Промах проверяется запросом в БД, чтобы не отказывать пользователям, созданным в обход этого экземпляра.
+ * Ответ БД в множество не попадает: удаление на другом экземпляре этот не увидит, и закэшированный ID
+ * так и остался бы живым.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExistenceService {
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongHashSet ids = new LongHashSet();
+
+    @PostConstruct
+    public void warmUp() {
+        List<Long> userIds = userRepository.findAllIds();
+        LongHashSet warmed = new LongHashSet(userIds.size());
+        for (Long id : userIds) {
+            warmed.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            ids = warmed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Загружено {} ID пользователей", userIds.size());
+    }
+
+    public boolean exists(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            if (ids.contains(userId)) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return userRepository.existsById(userId);
+    }
+
+    public void requireExists(Long userId) {
+        if (!exists(userId)) {
+            throw new NotFoundException(String.format("Пользователь с ID %s не найден", userId));
+        }
+    }
+
+    public void add(Long userId) {
+        lock.writeLock().lock();
+        try {
+            ids.add(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            ids.remove(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
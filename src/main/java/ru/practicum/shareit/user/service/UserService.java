@@ -8,6 +8,8 @@ import java.util.List;
 public interface UserService {
     User getUserById(Long userId);
 
+    String getUserETag(Long userId);
+
     List<User> getAllUsersDto();
 
     User createUser(UserDto userDto);
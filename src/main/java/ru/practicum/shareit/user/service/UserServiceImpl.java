@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
@@ -10,8 +11,10 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.ETags;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.*;
 
 
@@ -21,6 +24,7 @@ import java.util.*;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userDbStorage;
+    private final CommentRepository commentRepository;
 
     @Override
     public User getUserById(Long userId) {
@@ -28,6 +32,11 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не найден", userId)));
     }
 
+    @Override
+    public String getUserETag(Long userId) {
+        return ETags.of("user", userId, getUserById(userId).getUpdated(), null);
+    }
+
     @Override
     public List<User> getAllUsersDto() {
         return userDbStorage.findAll();
@@ -58,8 +67,10 @@ public class UserServiceImpl implements UserService {
         User updatedUser = getUserById(userId);
 
         String updatedName = user.getName();
-        if (updatedName != null && !updatedName.isBlank())
+        if (updatedName != null && !updatedName.isBlank() && !updatedName.equals(updatedUser.getName())) {
             updatedUser.setName(updatedName);
+            touchCommentedItems(userId);
+        }
 
         String updatedEmail = user.getEmail();
 
@@ -69,6 +80,14 @@ public class UserServiceImpl implements UserService {
         return updatedUser;
     }
 
+    /**
+     * Имя автора видно в комментариях карточки вещи, поэтому переименование сдвигает updated этих вещей и их ETag.
+     */
+    private void touchCommentedItems(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        commentRepository.findItemsByUser_Id(userId).forEach(item -> item.setUpdated(now));
+    }
+
     @Override
     public void deleteUserById(Long userId) {
         userDbStorage.findById(userId)
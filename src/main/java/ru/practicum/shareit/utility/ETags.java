@@ -0,0 +1,19 @@
+package ru.practicum.shareit.utility;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Сильные ETag для условных GET: тип и ID сущности, время её изменения с точностью до микросекунд
+ * (как хранится в БД) и вариант представления, если один ресурс разные пользователи видят по-разному.
+ */
+@UtilityClass
+public class ETags {
+
+    public String of(String kind, Long id, LocalDateTime updated, String variant) {
+        long micros = updated == null ? 0 : updated.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updated.getNano() / 1_000;
+        return "\"" + kind + "-" + id + "-" + Long.toString(micros, 36) + (variant == null ? "" : "-" + variant) + "\"";
+    }
+}
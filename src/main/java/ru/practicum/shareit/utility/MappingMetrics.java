@@ -0,0 +1,69 @@
+package ru.practicum.shareit.utility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.experimental.UtilityClass;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Счётчики мапперов вместо строки лога на каждый объект.
+ * Вызов маппера добавляет число объектов и время в агрегат текущего потока (его раз за запрос
+ * забирает MappingLogInterceptor) и в Micrometer-таймер shareit.mapping с тегом mapper.
+ */
+@UtilityClass
+public class MappingMetrics {
+
+    private final ThreadLocal<Stats> current = ThreadLocal.withInitial(Stats::new);
+    private final Map<String, Meters> registered = new ConcurrentHashMap<>();
+
+    public void record(String mapper, int objects, long nanos) {
+        Stats stats = current.get();
+        stats.objects += objects;
+        stats.nanos += nanos;
+        Meters meters = registered.computeIfAbsent(mapper, Meters::new);
+        meters.timer.record(nanos, TimeUnit.NANOSECONDS);
+        meters.objects.increment(objects);
+    }
+
+    /**
+     * Возвращает агрегат текущего потока и начинает новый.
+     */
+    public Stats drain() {
+        Stats stats = current.get();
+        current.remove();
+        return stats;
+    }
+
+    @Getter
+    public class Stats {
+        private long objects;
+        private long nanos;
+
+        /**
+         * Прибавляет агрегат, собранный другим потоком того же запроса.
+         */
+        public void add(Stats other) {
+            objects += other.objects;
+            nanos += other.nanos;
+        }
+    }
+
+    private class Meters {
+        private final Timer timer;
+        private final Counter objects;
+
+        Meters(String mapper) {
+            timer = Timer.builder("shareit.mapping")
+                    .tag("mapper", mapper)
+                    .register(Metrics.globalRegistry);
+            objects = Counter.builder("shareit.mapping.objects")
+                    .tag("mapper", mapper)
+                    .register(Metrics.globalRegistry);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.utility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ID пользователя из заголовка X-Sharer-User-Id, уже проверенный на существование.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SharerUserId {
+}
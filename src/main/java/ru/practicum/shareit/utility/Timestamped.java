@@ -0,0 +1,23 @@
+package ru.practicum.shareit.utility;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import java.time.LocalDateTime;
+
+/**
+ * Время последнего изменения сущности: Hibernate проставляет его при каждом INSERT/UPDATE.
+ * Изменения, которые видны в карточке, но не меняют саму сущность (комментарии, одобрение бронирований),
+ * сдвигают его вручную через setUpdated. Поле в базовом классе, чтобы не менять конструкторы и билдеры сущностей.
+ */
+@Getter
+@Setter
+@MappedSuperclass
+public abstract class Timestamped {
+    @UpdateTimestamp
+    @Column(name = "updated")
+    private LocalDateTime updated;
+}
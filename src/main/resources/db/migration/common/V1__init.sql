@@ -0,0 +1,57 @@
+CREATE TABLE IF NOT EXISTS users
+(
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name  VARCHAR(255)                            NOT NULL,
+    email VARCHAR(512)                            NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uq_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS requests
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    description  VARCHAR(500)                            NOT NULL,
+    requester_id BIGINT
+        CONSTRAINT requests_users_id_fk REFERENCES users,
+    created      TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    CONSTRAINT pk_requests PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS items
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name         VARCHAR(255)                            NOT NULL,
+    description  VARCHAR(4000)                           NOT NULL,
+    is_available BOOLEAN                                 NOT NULL,
+    owner_id     BIGINT                                  NOT NULL
+        CONSTRAINT items_users_fk REFERENCES users,
+    request_id   BIGINT
+        CONSTRAINT items_requests_fk REFERENCES requests,
+    CONSTRAINT pk_items PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS booking
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    item_id    BIGINT                                  NOT NULL
+        CONSTRAINT booking_items_id_fk REFERENCES items,
+    booker_id  BIGINT                                  NOT NULL
+        CONSTRAINT booking_users_id_fk REFERENCES users,
+    status     VARCHAR(32)                             NOT NULL,
+    state      VARCHAR(32),
+    CONSTRAINT pk_booking PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS comments
+(
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    text    VARCHAR(500)                            NOT NULL,
+    item_id BIGINT                                  NOT NULL
+        CONSTRAINT comments_items_id_fk REFERENCES items,
+    user_id BIGINT                                  NOT NULL
+        CONSTRAINT comments_users_id_fk REFERENCES users,
+    created TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    CONSTRAINT pk_comment PRIMARY KEY (id)
+);
@@ -0,0 +1,15 @@
+-- Списки бронирований арендатора: booker_id = ? ORDER BY start_date DESC (+ фильтры по status/датам)
+CREATE INDEX IF NOT EXISTS idx_booking_booker_start ON booking (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_booker_status ON booking (booker_id, status);
+
+-- Последнее/следующее бронирование и списки владельца через join по item_id
+CREATE INDEX IF NOT EXISTS idx_booking_item_status_start ON booking (item_id, status, start_date);
+-- Проверка пересечения: item_id = ? AND status IN (...) AND start_date < ? AND end_date > ?
+CREATE INDEX IF NOT EXISTS idx_booking_item_status_end ON booking (item_id, status, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created);
@@ -0,0 +1,11 @@
+-- Состояние FUTURE/CURRENT/PAST хранится в booking.state и продвигается BookingStateAdvancer;
+-- списки по состоянию ищутся равенством state = ? вместо сравнения дат с текущим временем
+UPDATE booking SET state = CASE
+    WHEN end_date < LOCALTIMESTAMP THEN 'PAST'
+    WHEN start_date > LOCALTIMESTAMP THEN 'FUTURE'
+    ELSE 'CURRENT' END;
+
+CREATE INDEX IF NOT EXISTS idx_booking_booker_state_start ON booking (booker_id, state, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_booking_item_state ON booking (item_id, state);
+-- Очередь BookingStateAdvancer при старте: state IN ('FUTURE', 'CURRENT')
+CREATE INDEX IF NOT EXISTS idx_booking_state ON booking (state);
@@ -0,0 +1,4 @@
+-- Время последнего изменения вещей, запросов и пользователей (Timestamped) — из него строятся ETag карточек
+ALTER TABLE items ADD COLUMN IF NOT EXISTS updated TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS updated TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
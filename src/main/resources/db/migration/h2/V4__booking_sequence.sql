@@ -0,0 +1,6 @@
+-- Идентификаторы бронирований из последовательности с шагом 50: Hibernate берёт диапазон за один
+-- вызов (pooled-lo) и может пакетировать INSERT, чего не позволяет IDENTITY.
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE booking ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE booking ALTER COLUMN id SET DEFAULT NEXT VALUE FOR booking_seq;
@@ -0,0 +1,35 @@
+-- Базы, созданные до Flyway из schema.sql: bookings вместо booking, comments.author_id, requests.user_id,
+-- items без request_id и booking без state. Непустая схема получает baseline 0 (spring.flyway.baseline-on-migrate),
+-- поэтому этот скрипт выполняется перед V1 и приводит таблицы к её виду; на пустой базе ничего не делает
+DO
+$$
+BEGIN
+    IF to_regclass('bookings') IS NOT NULL AND to_regclass('booking') IS NULL THEN
+        ALTER TABLE bookings RENAME TO booking;
+    END IF;
+
+    IF EXISTS(SELECT 1
+              FROM information_schema.columns
+              WHERE table_schema = current_schema()
+                AND table_name = 'comments'
+                AND column_name = 'author_id') THEN
+        ALTER TABLE comments RENAME COLUMN author_id TO user_id;
+    END IF;
+
+    IF EXISTS(SELECT 1
+              FROM information_schema.columns
+              WHERE table_schema = current_schema()
+                AND table_name = 'requests'
+                AND column_name = 'user_id') THEN
+        ALTER TABLE requests RENAME COLUMN user_id TO requester_id;
+    END IF;
+
+    IF to_regclass('items') IS NOT NULL AND to_regclass('requests') IS NOT NULL THEN
+        ALTER TABLE items ADD COLUMN IF NOT EXISTS request_id BIGINT REFERENCES requests (id);
+    END IF;
+
+    IF to_regclass('booking') IS NOT NULL THEN
+        ALTER TABLE booking ADD COLUMN IF NOT EXISTS state VARCHAR(32);
+    END IF;
+END
+$$;
@@ -0,0 +1,7 @@
+-- Идентификаторы бронирований из последовательности с шагом 50: Hibernate берёт диапазон за один
+-- вызов (pooled-lo) и может пакетировать INSERT, чего не позволяет IDENTITY.
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('booking_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM booking), false);
+
+ALTER TABLE booking ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE booking ALTER COLUMN id SET DEFAULT nextval('booking_seq');
@@ -0,0 +1,10 @@
+-- Страховка от двойного бронирования на уровне БД. BookingIntervalIndex проверяет пересечение под блокировкой
+-- внутри одного JVM; параллельные экземпляры приложения её не видят, поэтому активные (WAITING/APPROVED)
+-- интервалы одной вещи не должны пересекаться и в самой таблице. tsrange по умолчанию [start, end),
+-- как и проверка start < end' AND end > start' в приложении.
+-- Уже пересекающиеся активные бронирования нужно разрешить до применения миграции.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE booking ADD CONSTRAINT booking_item_period_excl
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
@@ -0,0 +1,60 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Локальный скрейп /actuator/prometheus: эндпоинты, репозитории, Hibernate и пул соединений публикуют метрики.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class PrometheusScrapeTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void prometheus_whenEndpointsCalled_thenMetricsExposed() throws Exception {
+        User user = userRepository.save(User.builder().name("scraped").email("scraped@mail.ru").build());
+        mvc.perform(get("/bookings").param("state", "past").header("X-Sharer-User-Id", user.getId()));
+        mvc.perform(get("/items").header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+
+        String scrape = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertHasLine(scrape, "http_server_requests_seconds_count{", "uri=\"/bookings\"", "state=\"PAST\"");
+        assertHasLine(scrape, "http_server_requests_seconds_count{", "uri=\"/items\"", "state=\"none\"");
+        assertHasLine(scrape, "spring_data_repository_invocations_seconds_count{", "repository=\"BookingRepository\"");
+        assertHasLine(scrape, "spring_data_repository_invocations_seconds_count{", "repository=\"ItemRepository\"");
+        assertHasLine(scrape, "hibernate_query_executions_total");
+        assertHasLine(scrape, "hibernate_entities_loads_total");
+        assertHasLine(scrape, "hibernate_second_level_cache_requests_total", "result=\"hit\"");
+        assertHasLine(scrape, "hikaricp_connections_active");
+    }
+
+    private static void assertHasLine(String scrape, String prefix, String... fragments) {
+        assertTrue(Arrays.stream(scrape.split("\n"))
+                        .filter(line -> line.startsWith(prefix))
+                        .anyMatch(line -> Arrays.stream(fragments).allMatch(line::contains)),
+                () -> "Нет метрики " + prefix + " " + Arrays.toString(fragments));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Схема создаётся миграциями Flyway; горячие запросы на заполненной базе не должны читать таблицу целиком.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int USERS = 200;
+    private static final int REQUESTS = 500;
+    private static final int ITEMS = 5_000;
+    private static final int BOOKINGS = 50_000;
+    private static final int COMMENTS = 10_000;
+    private static final String NOW = "TIMESTAMP '2030-01-01 00:00:00'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Значения id по умолчанию берутся из последовательностей с шагом 50 и идут с пропусками, поэтому строки
+     * вставляются с явными id 1..N: внешние ключи вида MOD(X, N) + 1 ссылаются на существующие строки.
+     */
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT X, 'user' || X, 'user' || X || '@plan.ru' FROM SYSTEM_RANGE(1, ?)", USERS);
+        jdbcTemplate.update("INSERT INTO requests (id, description, requester_id, created) " +
+                "SELECT X, 'request ' || X, MOD(X, ?) + 1, DATEADD(MINUTE, X, " + NOW + ") " +
+                "FROM SYSTEM_RANGE(1, ?)", USERS, REQUESTS);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                "SELECT X, 'item ' || X, 'description ' || X, TRUE, MOD(X, ?) + 1, " +
+                "CASE WHEN MOD(X, 10) = 0 THEN X / 10 END FROM SYSTEM_RANGE(1, ?)", USERS, ITEMS);
+        jdbcTemplate.update("INSERT INTO booking (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT X, DATEADD(HOUR, X - ?, " + NOW + "), DATEADD(HOUR, X - ? + 2, " + NOW + "), " +
+                "MOD(X, ?) + 1, MOD(X * 7, ?) + 1, CASE MOD(X, 3) WHEN 0 THEN 'WAITING' ELSE 'APPROVED' END " +
+                "FROM SYSTEM_RANGE(1, ?)", BOOKINGS / 2, BOOKINGS / 2, ITEMS, USERS, BOOKINGS);
+        jdbcTemplate.update("INSERT INTO comments (id, text, item_id, user_id, created) " +
+                "SELECT X, 'comment ' || X, MOD(X, ?) + 1, MOD(X, ?) + 1, DATEADD(MINUTE, X, " + NOW + ") " +
+                "FROM SYSTEM_RANGE(1, ?)", ITEMS, USERS, COMMENTS);
+        restartSequence("users_seq", USERS);
+        restartSequence("requests_seq", REQUESTS);
+        restartSequence("items_seq", ITEMS);
+        restartSequence("booking_seq", BOOKINGS);
+        restartSequence("comments_seq", COMMENTS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void bookerBookings_useBookerIndex() {
+        assertNoTableScan("SELECT * FROM booking b WHERE b.booker_id = 5 ORDER BY b.start_date DESC");
+        assertNoTableScan("SELECT * FROM booking b WHERE b.booker_id = 5 AND b.status = 'WAITING'");
+        assertNoTableScan("SELECT * FROM booking b WHERE b.booker_id = 5 AND b.end_date < " + NOW +
+                " AND b.status = 'APPROVED' ORDER BY b.start_date DESC");
+        assertNoTableScan("SELECT * FROM booking b WHERE b.booker_id = 5 AND b.state = 'FUTURE' " +
+                "ORDER BY b.start_date DESC");
+    }
+
+    @Test
+    void ownerBookings_useOwnerAndItemIndexes() {
+        assertNoTableScan("SELECT b.* FROM booking b JOIN items i ON b.item_id = i.id " +
+                "WHERE i.owner_id = 3 ORDER BY b.start_date DESC");
+    }
+
+    @Test
+    void overlapCheck_usesItemStatusIndex() {
+        assertNoTableScan("SELECT b.id FROM booking b WHERE b.item_id = 7 " +
+                "AND b.status IN ('WAITING', 'APPROVED') " +
+                "AND b.start_date < DATEADD(DAY, 1, " + NOW + ") AND b.end_date > " + NOW);
+    }
+
+    @Test
+    void lastAndNextBookings_useItemStatusIndex() throws NoSuchMethodException {
+        String sql = BookingRepository.class
+                .getMethod("findLastAndNextByItemIds", Collection.class, LocalDateTime.class)
+                .getAnnotation(Query.class)
+                .value()
+                .replace(":itemIds", "1, 2, 3")
+                .replace(":now", NOW);
+
+        assertNoTableScan(sql);
+    }
+
+    @Test
+    void ownerItemsCommentsAndRequests_useForeignKeyIndexes() {
+        assertNoTableScan("SELECT * FROM items i WHERE i.owner_id = 3 ORDER BY i.id");
+        assertNoTableScan("SELECT * FROM items i WHERE i.request_id IN (1, 2, 3)");
+        assertNoTableScan("SELECT * FROM comments c WHERE c.item_id IN (1, 2, 3) ORDER BY c.created DESC");
+        assertNoTableScan("SELECT * FROM requests r WHERE r.requester_id = 4 ORDER BY r.created");
+    }
+
+    private void restartSequence(String sequence, int lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+
+    private void assertNoTableScan(String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertFalse(plan.contains(".tableScan"), () -> "Запрос читает таблицу целиком:\n" + plan);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Второй уровень кэша: повторные чтения не ходят в БД, а изменения через сервисы сразу видны.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void getUserById_whenReadAgain_thenServedFromCache() {
+        User user = createUser("l2-read");
+        userService.getUserById(user.getId());
+        statistics.clear();
+
+        userService.getUserById(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+    }
+
+    @Test
+    void updateUser_whenCached_thenNextReadSeesNewValues() {
+        User user = createUser("l2-update");
+        userService.getUserById(user.getId());
+
+        userService.updateUser(user.getId(), UserDto.builder().name("renamed").email("l2-updated@mail.ru").build());
+
+        User reloaded = userService.getUserById(user.getId());
+        assertEquals("renamed", reloaded.getName());
+        assertEquals("l2-updated@mail.ru", reloaded.getEmail());
+    }
+
+    @Test
+    void deleteUserById_whenCached_thenUserGone() {
+        User user = createUser("l2-delete");
+        userService.getUserById(user.getId());
+
+        userService.deleteUserById(user.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.getUserById(user.getId()));
+    }
+
+    @Test
+    void getListItemByUserId_whenRepeated_thenOwnerQueryCachedUntilItemUpdated() {
+        User owner = createUser("l2-owner");
+        ItemDtoResponse item = itemService.createItem(owner.getId(), ItemDtoRequest.builder()
+                .name("cached item").description("cached description").available(true).build());
+        Pageable page = PageRequest.of(0, 10);
+        itemService.getListItemByUserId(owner.getId(), page);
+        statistics.clear();
+
+        itemService.getListItemByUserId(owner.getId(), page);
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+
+        itemService.updateItem(owner.getId(), item.getId(), ItemDtoResponse.builder().name("renamed item").build());
+
+        assertEquals("renamed item", itemService.getListItemByUserId(owner.getId(), page).get(0).getName());
+        assertEquals("renamed item", itemService.getItemById(item.getId(), owner.getId()).getName());
+    }
+
+    private User createUser(String name) {
+        return userService.createUser(UserDto.builder().name(name).email(name + "@mail.ru").build());
+    }
+}
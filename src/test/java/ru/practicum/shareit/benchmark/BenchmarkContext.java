@@ -0,0 +1,122 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Поднимает приложение без веб-слоя на отдельной in-memory H2 и заполняет её пачками через JDBC.
+ */
+final class BenchmarkContext {
+
+    static final int BATCH = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Полное веб-приложение на случайном порту; с shareit.benchmark.sql-latency-ms каждый SQL-запрос замедляется.
+     */
+    static ConfigurableApplicationContext startWeb(String database, String... properties) {
+        return new SpringApplicationBuilder(ShareItApp.class, SlowDataSourceConfig.class)
+                .profiles("test")
+                .bannerMode(Banner.Mode.OFF)
+                .properties("spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Число живых потоков JVM с префиксом prefix — для сравнения размеров пулов после прогона.
+     */
+    static long threads(String prefix) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(prefix))
+                .count();
+    }
+
+    static long insertUser(JdbcTemplate jdbcTemplate, String name) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", name, name + "@bench.ru");
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, name + "@bench.ru");
+    }
+
+    static void insertRequests(JdbcTemplate jdbcTemplate, long requesterId, int count) {
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{"request " + i, requesterId, Timestamp.valueOf(created.plusSeconds(i))});
+            if (batch.size() == BATCH || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO requests (description, requester_id, created) VALUES (?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * count вещей владельца ownerId с повторяющимися описаниями; доступна каждая, чей номер не кратен трём.
+     */
+    static void insertItems(JdbcTemplate jdbcTemplate, long ownerId, int count) {
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'item ' || X, " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'Дрель аккумуляторная' WHEN 1 THEN 'Пила по дереву' " +
+                "WHEN 2 THEN 'Отвёртка крестовая' ELSE 'Молоток ' || X END, " +
+                "MOD(X, 3) <> 0, ? FROM SYSTEM_RANGE(1, ?)", ownerId, count);
+    }
+
+    /**
+     * По одной вещи владельца ownerId на каждый существующий запрос.
+     */
+    static void insertItemsForRequests(JdbcTemplate jdbcTemplate, long ownerId) {
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id, request_id) " +
+                "SELECT 'item ' || r.id, r.description, TRUE, ?, r.id FROM requests r", ownerId);
+    }
+
+    /**
+     * perItem одобренных бронирований на каждую вещь владельца ownerId: половина в прошлом, половина в будущем.
+     * state заполняется сразу, как при сохранении через JPA: запись идёт мимо BookingStateListener.
+     */
+    static void insertBookings(JdbcTemplate jdbcTemplate, long ownerId, long bookerId, int perItem) {
+        jdbcTemplate.update("INSERT INTO booking (start_date, end_date, item_id, booker_id, status, state) " +
+                "SELECT DATEADD(DAY, 2 * X - ?, LOCALTIMESTAMP), DATEADD(DAY, 2 * X - ? + 1, LOCALTIMESTAMP), " +
+                "i.id, ?, 'APPROVED', CASE WHEN 2 * X - ? + 1 < 0 THEN 'PAST' WHEN 2 * X - ? > 0 THEN 'FUTURE' " +
+                "ELSE 'CURRENT' END FROM items i CROSS JOIN SYSTEM_RANGE(1, ?) WHERE i.owner_id = ?",
+                perItem, perItem, bookerId, perItem, perItem, perItem, ownerId);
+    }
+
+    /**
+     * perItem комментариев автора authorId на каждую вещь владельца ownerId.
+     */
+    static void insertComments(JdbcTemplate jdbcTemplate, long ownerId, long authorId, int perItem) {
+        jdbcTemplate.update("INSERT INTO comments (text, item_id, user_id, created) " +
+                "SELECT 'comment ' || X, i.id, ?, DATEADD(HOUR, -X, LOCALTIMESTAMP) " +
+                "FROM items i CROSS JOIN SYSTEM_RANGE(1, ?) WHERE i.owner_id = ?",
+                authorId, perItem, ownerId);
+    }
+}
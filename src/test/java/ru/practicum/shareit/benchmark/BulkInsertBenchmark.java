@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Загрузка bookings бронирований через EntityManager.persist с flush/clear каждые FLUSH_EVERY записей.
+ * batchSize=0 отключает JDBC-пакеты и повторяет прежнее поведение IDENTITY — запрос на каждую строку;
+ * batchSize=50 совпадает с allocationSize последовательностей. mode=PostgreSQL запускает H2 в режиме совместимости.
+ * Для замера на миллионе строк: -p bookings=1000000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int FLUSH_EVERY = 1_000;
+    private static final int ITEMS = 100;
+
+    @Param({"100000"})
+    private int bookings;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    @Param({"Regular", "PostgreSQL"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private long bookerId;
+    private List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bulk-insert-" + batchSize + "-" + mode + ";MODE=" + mode,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long ownerId = BenchmarkContext.insertUser(jdbcTemplate, "owner");
+        bookerId = BenchmarkContext.insertUser(jdbcTemplate, "booker");
+        BenchmarkContext.insertItems(jdbcTemplate, ownerId, ITEMS);
+        itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearBookings() {
+        jdbcTemplate.update("DELETE FROM booking");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int persistBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < bookings; i++) {
+                entityManager.persist(Booking.builder()
+                        .item(entityManager.getReference(Item.class, itemIds.get(i % ITEMS)))
+                        .booker(entityManager.getReference(User.class, bookerId))
+                        .status(BookingStatus.APPROVED)
+                        .start(start.plusHours(i))
+                        .end(start.plusHours(i + 1))
+                        .build());
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+        return bookings;
+    }
+}
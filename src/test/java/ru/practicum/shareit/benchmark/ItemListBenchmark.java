@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.utility.PageableMaker;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /items владельца: вещи страницы, последнее/следующее бронирование и комментарии.
+ * Размер набора задаётся ownerItems и bookingsPerItem, страница — pageSize.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemListBenchmark {
+
+    @Param({"100", "1000"})
+    private int ownerItems;
+
+    @Param({"10", "100"})
+    private int bookingsPerItem;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Pageable pageable;
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("item-list-" + ownerItems + "-" + bookingsPerItem + "-" + pageSize);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ownerId = BenchmarkContext.insertUser(jdbcTemplate, "owner");
+        long bookerId = BenchmarkContext.insertUser(jdbcTemplate, "booker");
+        BenchmarkContext.insertItems(jdbcTemplate, ownerId, ownerItems);
+        BenchmarkContext.insertBookings(jdbcTemplate, ownerId, bookerId, bookingsPerItem);
+        BenchmarkContext.insertComments(jdbcTemplate, ownerId, bookerId, 3);
+        itemService = context.getBean(ItemService.class);
+        pageable = PageableMaker.makePageable(0, pageSize, Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBooking> firstPage() {
+        return itemService.getListItemByUserId(ownerId, pageable);
+    }
+}
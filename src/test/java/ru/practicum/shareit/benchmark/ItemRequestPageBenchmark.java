@@ -0,0 +1,63 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время ответа /requests/all на первую страницу при росте общего числа запросов.
+ * Вещи подгружаются только для запросов страницы, поэтому время не должно расти вместе с totalRequests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestPageBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int totalRequests;
+
+    private ConfigurableApplicationContext context;
+    private ItemRequestService itemRequestService;
+    private long viewerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("request-page-" + totalRequests);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long requesterId = BenchmarkContext.insertUser(jdbcTemplate, "requester");
+        viewerId = BenchmarkContext.insertUser(jdbcTemplate, "viewer");
+        BenchmarkContext.insertRequests(jdbcTemplate, requesterId, totalRequests);
+        BenchmarkContext.insertItemsForRequests(jdbcTemplate, viewerId);
+        itemRequestService = context.getBean(ItemRequestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoResponse> findAllFirstPage() {
+        return itemRequestService.findAll(viewerId, 0, 10);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.TrigramItemSearchEngine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /items/search: LIKE-запрос ItemRepository.searchItem против встроенного триграммного индекса.
+ * Частый запрос ("дрел") совпадает с четвертью вещей, редкий ("ток 4242") — с единицами.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int totalItems;
+
+    @Param({"дрел", "ток 4242"})
+    private String text;
+
+    private final Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private TrigramItemSearchEngine searchEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("item-search-" + totalItems, "shareit.item.search.engine=memory");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long ownerId = BenchmarkContext.insertUser(jdbcTemplate, "owner");
+        BenchmarkContext.insertItems(jdbcTemplate, ownerId, totalItems);
+        itemRepository = context.getBean(ItemRepository.class);
+        searchEngine = context.getBean(TrigramItemSearchEngine.class);
+        searchEngine.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> likeQuery() {
+        return itemRepository.searchItem(text, page);
+    }
+
+    @Benchmark
+    public List<Item> trigramIndex() {
+        return searchEngine.search(text, page);
+    }
+
+    @Benchmark
+    public long[] trigramIndexIdsOnly() {
+        return searchEngine.searchIds(text, page);
+    }
+}
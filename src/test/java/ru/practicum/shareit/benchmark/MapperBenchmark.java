@@ -0,0 +1,125 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import lombok.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Мапперы на готовых сущностях, без БД.
+ * bookingDtoResponseListPerObjectLog повторяет прежнее поведение — INFO-строку на каждое бронирование —
+ * и при logLevel=INFO показывает, сколько пропускной способности списка съедало логирование.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final org.slf4j.Logger MAPPER_LOG = LoggerFactory.getLogger(BookingMapper.class);
+
+    @Param({"10", "1000"})
+    private int size;
+
+    @Param({"INFO", "WARN"})
+    private String logLevel;
+
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private ItemBookingSummary summary;
+    private Item item;
+    private ItemRequest itemRequest;
+    private List<Item> requestItems;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("ru.practicum.shareit")).setLevel(Level.toLevel(logLevel));
+
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@bench.ru");
+        User booker = new User(2L, "booker", "booker@bench.ru");
+        itemRequest = new ItemRequest(1L, "request", booker, now);
+        item = new Item(1L, "item", "description", true, owner, itemRequest);
+
+        bookings = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        requestItems = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            bookings.add(Booking.builder().id(i).item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .start(now.plusDays(i)).end(now.plusDays(i + 1)).build());
+            comments.add(Comment.builder().id(i).text("comment " + i).item(item).user(booker)
+                    .created(now.minusHours(i)).build());
+            requestItems.add(new Item(i, "item " + i, "description " + i, true, owner, itemRequest));
+        }
+        summary = new Summary(item.getId(), 1L, booker.getId(), 2L, booker.getId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BookingDtoResponse> bookingDtoResponseList() {
+        return BookingMapper.toBookingDtoResponseList(bookings);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BookingDtoResponse> bookingDtoResponseListPerObjectLog() {
+        List<BookingDtoResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            MAPPER_LOG.info("Собираем бронирование");
+            responses.add(BookingMapper.toBookingDtoResponse(booking));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public ItemDtoWithBooking itemDtoWithBooking() {
+        return ItemMapper.toItemDtoWithBooking(comments, summary, item);
+    }
+
+    @Benchmark
+    public ItemRequestDtoResponse itemRequestDtoResponse() {
+        return ItemRequestMapper.toItemRequestDtoResponse(itemRequest, requestItems);
+    }
+
+    @Value
+    private static class Summary implements ItemBookingSummary {
+        Long itemId;
+        Long lastBookingId;
+        Long lastBookerId;
+        Long nextBookingId;
+        Long nextBookerId;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.utility.PageableMaker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор параметров запроса: from/size в Pageable и строки state в State.
+ * Неизвестный state идёт через исключение, поэтому меряется отдельно.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+    @Param({"all", "WAITING", "UNSUPPORTED_STATUS"})
+    private String state;
+
+    private final Sort sort = Sort.by(Sort.Direction.DESC, "id");
+    private final BookingServiceImpl bookingService = new BookingServiceImpl(null, null, null, null, null, null, null, null, null);
+    private int from = 20;
+    private int size = 10;
+
+    @Benchmark
+    public Pageable pageable() {
+        return PageableMaker.makePageable(from, size, sort);
+    }
+
+    @Benchmark
+    public Object state() {
+        try {
+            return bookingService.getStateByStr(state);
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Заглушка медленной БД поверх in-memory H2: задержка shareit.benchmark.sql-latency-ms перед каждым SQL-выполнением.
+ */
+@Configuration
+class SlowDataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor slowDataSourcePostProcessor(@Value("${shareit.benchmark.sql-latency-ms:0}") long latencyMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (latencyMs > 0 && bean instanceof DataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name("slow-" + beanName)
+                            .listener(new Latency(latencyMs))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class Latency implements QueryExecutionListener {
+
+        private final long latencyMs;
+
+        private Latency(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Число живых потоков Tomcat (http-nio-*) и пула чтений (read-*) в конце итерации как вспомогательные
+ * счётчики JMH: они попадают в таблицу и JSON-результаты рядом с основной метрикой.
+ * EVENTS суммируется по потокам бенчмарка, поэтому значения записывает только один поток итерации, у остальных нули.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class ThreadCounters {
+
+    public long tomcatThreads;
+    public long readThreads;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        tomcatThreads = 0;
+        readThreads = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void count(Reporter reporter) {
+        if (reporter.elected.compareAndSet(false, true)) {
+            tomcatThreads = BenchmarkContext.threads("http-nio-");
+            readThreads = BenchmarkContext.threads("read-");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Reporter {
+
+        private final AtomicBoolean elected = new AtomicBoolean();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            elected.set(false);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность GET /items и GET /bookings при 2000 одновременных клиентах: пул платформенных потоков
+ * Tomcat (threads.max=tomcatThreads) против виртуального потока на запрос. БД замедлена на sqlLatencyMs
+ * на запрос, одновременных соединений — hikariPoolSize в обоих режимах. Число платформенных потоков Tomcat
+ * выводится вспомогательным счётчиком tomcatThreads (ThreadCounters).
+ * virtualThreads=true запускается только на JDK 21+ (профиль jdk21).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(2000)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"/items", "/bookings/owner"})
+    private String path;
+
+    @Param({"5"})
+    private long sqlLatencyMs;
+
+    @Param({"200"})
+    private int tomcatThreads;
+
+    @Param({"64"})
+    private int hikariPoolSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb("virtual-threads-" + virtualThreads,
+                "shareit.virtual-threads.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "server.tomcat.accept-count=2000",
+                "server.tomcat.max-connections=4000",
+                "spring.datasource.hikari.maximum-pool-size=" + hikariPoolSize,
+                "shareit.benchmark.sql-latency-ms=" + sqlLatencyMs);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long ownerId = BenchmarkContext.insertUser(jdbcTemplate, "owner");
+        long bookerId = BenchmarkContext.insertUser(jdbcTemplate, "booker");
+        BenchmarkContext.insertItems(jdbcTemplate, ownerId, 100);
+        BenchmarkContext.insertBookings(jdbcTemplate, ownerId, bookerId, 10);
+        BenchmarkContext.insertComments(jdbcTemplate, ownerId, bookerId, 3);
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + BenchmarkContext.port(context) + path
+                        + "?from=0&size=10"))
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int get(ThreadCounters counters) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
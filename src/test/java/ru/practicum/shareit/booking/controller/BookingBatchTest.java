@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.SqlBudget;
+import ru.practicum.shareit.utility.TestFixtures;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Пакетное создание бронирований: число SQL-выполнений не зависит от размера пакета —
+ * один поиск пользователя, один findAllById по вещам, загрузка интервалов на вещь и пакетный INSERT.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Import(TestFixtures.class)
+class BookingBatchTest {
+
+    private static final int PER_ITEM = 5;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private Item first;
+    private Item second;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("batch-owner");
+        booker = fixtures.user("batch-booker");
+        first = fixtures.item(owner, "batch1");
+        second = fixtures.item(owner, "batch2");
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    @SqlBudget(7)
+    void createBookings_whenMixedBatch_thenPerEntryResultsAndBatchedInsert() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDtoRequest> requests = new ArrayList<>();
+        for (int i = 0; i < PER_ITEM; i++) {
+            requests.add(request(first.getId(), start.plusDays(i * 2L), start.plusDays(i * 2L + 1)));
+            requests.add(request(second.getId(), start.plusDays(i * 2L), start.plusDays(i * 2L + 1)));
+        }
+        requests.add(request(first.getId(), start.plusHours(1), start.plusHours(2)));
+        requests.add(request(-1L, start, start.plusDays(1)));
+        requests.add(request(second.getId(), null, start));
+
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests))
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(PER_ITEM * 2 + 3)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[9].status", is(200)))
+                .andExpect(jsonPath("$[10].status", is(409)))
+                .andExpect(jsonPath("$[11].status", is(404)))
+                .andExpect(jsonPath("$[12].status", is(400)));
+        entityManager.flush();
+
+        Long created = entityManager.createQuery("SELECT COUNT(b) FROM Booking b WHERE b.booker.id = :id", Long.class)
+                .setParameter("id", booker.getId())
+                .getSingleResult();
+        assertThat(created, is((long) PER_ITEM * 2));
+    }
+
+    @Test
+    void createBookings_whenOwnItem_thenNotFoundEntry() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request(first.getId(), start, start.plusDays(1)))))
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(404)))
+                .andExpect(jsonPath("$[0].error", is("Владелец не может бронировать свою вещь")));
+    }
+
+    @Test
+    void createBookings_whenEmptyBatch_thenBadRequest() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static BookingDtoRequest request(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingDtoRequest.builder().itemId(itemId).start(start).end(end).build();
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.TestFixtures;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH /bookings/owner/bulk: каждое решение получает свой статус, одобрение поверх подтверждённого
+ * бронирования отклоняется, а применённые смены видны в БД.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Import(TestFixtures.class)
+class BookingBulkDecisionTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private Booking waiting;
+    private Booking approved;
+    private Booking rejectedOverlapping;
+    private Booking rejectedFree;
+    private Booking foreign;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("bulk-owner");
+        User stranger = fixtures.user("bulk-stranger");
+        User booker = fixtures.user("bulk-booker");
+        Item item = fixtures.item(owner, "bulk");
+        Item strangerItem = fixtures.item(stranger, "bulk2");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        waiting = fixtures.booking(item, booker, start, BookingStatus.WAITING);
+        approved = fixtures.booking(item, booker, start.plusDays(2), BookingStatus.APPROVED);
+        rejectedOverlapping = fixtures.booking(item, booker, start.plusDays(2).plusHours(1), BookingStatus.REJECTED);
+        rejectedFree = fixtures.booking(item, booker, start.plusDays(4), BookingStatus.REJECTED);
+        foreign = fixtures.booking(strangerItem, booker, start, BookingStatus.WAITING);
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    void updateBookings_whenMixedDecisions_thenPerBookingResults() throws Exception {
+        List<BookingDecision> decisions = List.of(
+                decision(waiting, true),
+                decision(approved, false),
+                decision(rejectedOverlapping, true),
+                decision(rejectedFree, true),
+                decision(foreign, true),
+                new BookingDecision(-1L, true),
+                decision(waiting, false),
+                new BookingDecision(null, true));
+
+        mvc.perform(patch("/bookings/owner/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions))
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(decisions.size())))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.status", is("APPROVED")))
+                .andExpect(jsonPath("$[1].status", is(200)))
+                .andExpect(jsonPath("$[1].booking.status", is("REJECTED")))
+                .andExpect(jsonPath("$[2].status", is(409)))
+                .andExpect(jsonPath("$[3].status", is(200)))
+                .andExpect(jsonPath("$[4].status", is(404)))
+                .andExpect(jsonPath("$[5].status", is(404)))
+                .andExpect(jsonPath("$[6].status", is(400)))
+                .andExpect(jsonPath("$[7].status", is(400)));
+
+        assertThat(statusOf(waiting), is(BookingStatus.APPROVED));
+        assertThat(statusOf(approved), is(BookingStatus.REJECTED));
+        assertThat(statusOf(rejectedOverlapping), is(BookingStatus.REJECTED));
+        assertThat(statusOf(rejectedFree), is(BookingStatus.APPROVED));
+        assertThat(statusOf(foreign), is(BookingStatus.WAITING));
+    }
+
+    @Test
+    void updateBookings_whenAlreadyApproved_thenBadRequestEntry() throws Exception {
+        mvc.perform(patch("/bookings/owner/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(decision(approved, true))))
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(400)))
+                .andExpect(jsonPath("$[0].error", is("Уже одобрено")));
+    }
+
+    @Test
+    void updateBookings_whenEmpty_thenBadRequest() throws Exception {
+        mvc.perform(patch("/bookings/owner/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private BookingStatus statusOf(Booking booking) {
+        entityManager.clear();
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private static BookingDecision decision(Booking booking, boolean approved) {
+        return new BookingDecision(booking.getId(), approved);
+    }
+}
@@ -6,29 +6,45 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.enums.BookingExportFormat;
+import ru.practicum.shareit.booking.enums.BookingRole;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -40,12 +56,14 @@ class BookingControllerTest {
     private ObjectMapper objectMapper;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private UserExistenceService userExistenceService;
 
     private final User user = new User(1L, "User1", "user1@mail.ru");
     private final User user2 = new User(2L, "User2", "user2@mail.ru");
     private final Item item = new Item(1L, "item1", "description1", true, user, null);
     private final Booking booking = new Booking(1L, LocalDateTime.now().plusMinutes(10), LocalDateTime.now().plusDays(1),
-            item, user2, BookingStatus.WAITING, State.CURRENT);
+            item, user2, BookingStatus.WAITING, State.CURRENT, 0L);
 
     private final BookingDtoResponse bookingDto = BookingMapper.toBookingDtoResponse(booking);
     private final BookingDtoRequest bookingDtoRequest = BookingDtoRequest.builder()
@@ -79,6 +97,43 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.name", is(booking.getItem().getName())));
     }
 
+    @Test
+    void createBookings_whenBatchPosted_thenPerEntryResults() throws Exception {
+        when(bookingService.createBookings(any(), anyLong()))
+                .thenReturn(List.of(BookingBatchResult.succeeded(0, bookingDto),
+                        BookingBatchResult.rejected(1, HttpStatus.CONFLICT, "Вещь уже забронирована на это время")));
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookingDtoRequest, bookingDtoRequest)))
+                        .header("X-Sharer-User-Id", user2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.item.name", is(booking.getItem().getName())))
+                .andExpect(jsonPath("$[1].status", is(409)))
+                .andExpect(jsonPath("$[1].booking", is(nullValue())));
+        verify(bookingService).createBookings(argThat(requests -> requests.size() == 2), eq(user2.getId()));
+    }
+
+    @Test
+    void updateBookings_whenBulkPatched_thenPerBookingResults() throws Exception {
+        when(bookingService.updateBookings(any(), anyLong()))
+                .thenReturn(List.of(BookingBatchResult.succeeded(0, bookingDto),
+                        BookingBatchResult.rejected(1, HttpStatus.NOT_FOUND, "Пользователь не является владельцем")));
+        mvc.perform(patch("/bookings/owner/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingDecision(1L, true),
+                                new BookingDecision(2L, false))))
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("Пользователь не является владельцем")));
+        verify(bookingService).updateBookings(argThat(decisions -> decisions.size() == 2
+                && decisions.get(1).getBookingId() == 2L && !decisions.get(1).getApproved()), eq(user.getId()));
+    }
+
     @Test
     void updateStatus() throws Exception {
         booking.setStatus(BookingStatus.APPROVED);
@@ -129,4 +184,94 @@ class BookingControllerTest {
                 .verify(bookingService, Mockito.times(1))
                 .getAllBookingByOwnerId(anyLong(), anyString(), any());
     }
+
+    @Test
+    void getAllByUserWithCursor_whenPageIsFull_thenNextCursorReturned() throws Exception {
+        when(bookingService.getAllBookingByUserIdAfter(anyLong(), anyString(), any(), eq(1)))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", user2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(notNullValue())))
+                .andExpect(header().string(BookingController.NEXT_CURSOR,
+                        BookingCursor.of(bookingDto.getStart(), bookingDto.getId()).encode()));
+
+        Mockito
+                .verify(bookingService, Mockito.never())
+                .getAllBookingByUserId(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void getAllByOwnerWithCursor_whenLastPage_thenNoNextCursor() throws Exception {
+        BookingCursor cursor = BookingCursor.of(booking.getStart(), booking.getId());
+        when(bookingService.getAllBookingByOwnerIdAfter(anyLong(), anyString(), any(), anyInt()))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("cursor", cursor.encode())
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR));
+    }
+
+    @Test
+    void getAllByOwnerWithCursor_whenCursorMalformed_thenBadRequest() throws Exception {
+        mvc.perform(get("/bookings/owner")
+                        .param("cursor", "@@@")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSummaryForOwner_whenCounted_thenStateMap() throws Exception {
+        when(bookingService.getSummary(user.getId(), BookingRole.OWNER))
+                .thenReturn(Map.of(State.ALL, 3L, State.WAITING, 1L, State.FUTURE, 2L));
+        mvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL", is(3)))
+                .andExpect(jsonPath("$.FUTURE", is(2)));
+    }
+
+    @Test
+    void exportByOwner_whenCsvRequested_thenStreamedByService() throws Exception {
+        when(bookingService.getStateByStr("past")).thenReturn(State.PAST);
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .param("state", "past")
+                        .param("format", "csv")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"));
+        verify(bookingService).exportBookings(eq(user.getId()), eq(BookingRole.OWNER), eq(State.PAST),
+                eq(BookingExportFormat.CSV), any());
+    }
+
+    @Test
+    void exportByBooker_whenFormatUnknown_thenBadRequest() throws Exception {
+        when(bookingService.getStateByStr("ALL")).thenReturn(State.ALL);
+        mvc.perform(get("/bookings/export")
+                        .param("format", "xml")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isBadRequest());
+        verify(bookingService, never()).exportBookings(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getBookingById_whenUserUnknown_thenNotFoundWithoutServiceCall() throws Exception {
+        doThrow(new NotFoundException("Пользователь с ID 99 не найден"))
+                .when(userExistenceService).requireExists(99L);
+
+        mvc.perform(get("/bookings/1")
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(bookingService);
+    }
 }
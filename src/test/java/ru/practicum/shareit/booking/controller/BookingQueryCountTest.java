@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.SqlBudget;
+import ru.practicum.shareit.utility.TestFixtures;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.config.SqlStatementHeaderAdvice.SQL_STATEMENT_COUNT;
+
+/**
+ * Списки бронирований обходятся одним запросом; проверка существования пользователя и его бронирований
+ * добавляется, только когда страница пуста.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Import(TestFixtures.class)
+class BookingQueryCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("counted-owner");
+        booker = fixtures.user("counted-booker");
+        for (int i = 0; i < 3; i++) {
+            fixtures.booking(fixtures.item(owner, "counted" + i), booker, LocalDateTime.now().minusDays(i + 2),
+                    LocalDateTime.now().minusDays(i + 1), BookingStatus.APPROVED);
+        }
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    @SqlBudget(1)
+    void getAllBookingForBooker_whenBookingsFound_thenSingleStatement() throws Exception {
+        mvc.perform(get("/bookings").param("state", "ALL").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(header().string(SQL_STATEMENT_COUNT, "1"));
+    }
+
+    @Test
+    @SqlBudget(1)
+    void getAllBookingForOwner_whenBookingsFound_thenSingleStatement() throws Exception {
+        mvc.perform(get("/bookings/owner").param("state", "PAST").param("from", "0").param("size", "2")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(header().string(SQL_STATEMENT_COUNT, "1"));
+    }
+
+    @Test
+    @SqlBudget(1)
+    void getAllBookingForOwner_whenCursorPage_thenSingleStatement() throws Exception {
+        mvc.perform(get("/bookings/owner").param("cursor", "").param("size", "2")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(header().string(SQL_STATEMENT_COUNT, "1"));
+    }
+
+    @Test
+    @SqlBudget(2)
+    void getAllBookingForBooker_whenStateEmpty_thenExistenceProbeAdded() throws Exception {
+        mvc.perform(get("/bookings").param("state", "FUTURE").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)))
+                .andExpect(header().string(SQL_STATEMENT_COUNT, "2"));
+    }
+
+    @Test
+    @SqlBudget(1)
+    void getAllBookingForOwner_whenUserUnknown_thenNotFoundAfterExistenceCheck() throws Exception {
+        mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+}
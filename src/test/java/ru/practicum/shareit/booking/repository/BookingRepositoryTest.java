@@ -5,10 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.enums.BookingRole;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -33,6 +39,8 @@ class BookingRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ItemRepository itemRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
     User user1;
     Item item1;
@@ -44,16 +52,20 @@ class BookingRepositoryTest {
 
     @BeforeEach
     void beforeEach() {
-        user1 = userRepository.save(new User(1L, "user1", "user1@email"));
-        user2 = userRepository.save(new User(2L, "user2", "user2@email"));
-
-        item1 = itemRepository.save(new Item(1L, "item1", "description1", true, user1, null));
-        item2 = itemRepository.save(new Item(2L, "item2", "description2", true, user1, null));
-
-        booking = bookingRepository.save(new Booking(1L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1),
-                item1, user2, BookingStatus.WAITING, State.WAITING));
-        bookingApproved = bookingRepository.save(new Booking(2L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1),
-                item2, user2, BookingStatus.APPROVED, State.WAITING));
+        user1 = userRepository.save(User.builder().name("user1").email("user1@email").build());
+        user2 = userRepository.save(User.builder().name("user2").email("user2@email").build());
+
+        item1 = itemRepository.save(Item.builder().name("item1").description("description1").available(true)
+                .owner(user1).build());
+        item2 = itemRepository.save(Item.builder().name("item2").description("description2").available(true)
+                .owner(user1).build());
+
+        booking = bookingRepository.save(Booking.builder().start(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now().plusDays(1)).item(item1).booker(user2)
+                .status(BookingStatus.WAITING).state(State.WAITING).build());
+        bookingApproved = bookingRepository.save(Booking.builder().start(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now().plusDays(1)).item(item2).booker(user2)
+                .status(BookingStatus.APPROVED).state(State.WAITING).build());
     }
 
     @AfterEach
@@ -119,10 +131,81 @@ class BookingRepositoryTest {
         assertThat(bookings.size(), is(2));
     }
 
+    @Test
+    void findSlice_whenPagedByCursor_thenEachBookingReturnedOnce() {
+        // Курсор приходит из ответа на предыдущий запрос, то есть из прочитанной из БД строки: в контексте
+        // персистентности start хранит наносекунды, которые TIMESTAMP в базе отбрасывает.
+        entityManager.flush();
+        entityManager.clear();
+        Pageable limit = PageRequest.of(0, 1);
+        Specification<Booking> all = BookingSpecifications.byRoleAndState(user2.getId(), BookingRole.BOOKER, State.ALL);
+
+        List<Booking> firstPage = bookingRepository.findSlice(all.and(BookingSpecifications.after(BookingCursor.FIRST)),
+                BookingSpecifications.SEEK_ORDER, limit);
+        Booking last = firstPage.get(0);
+        List<Booking> secondPage = bookingRepository.findSlice(all.and(BookingSpecifications.after(
+                BookingCursor.of(last.getStart(), last.getId()))), BookingSpecifications.SEEK_ORDER, limit);
+        Booking secondLast = secondPage.get(0);
+        List<Booking> thirdPage = bookingRepository.findSlice(all.and(BookingSpecifications.after(
+                BookingCursor.of(secondLast.getStart(), secondLast.getId()))), BookingSpecifications.SEEK_ORDER, limit);
+
+        assertThat(firstPage.size(), is(1));
+        assertThat(secondPage.size(), is(1));
+        assertThat(thirdPage.size(), is(0));
+        assertThat(last.getId().equals(secondLast.getId()), is(false));
+    }
+
+    @Test
+    void findSlice_whenOwnerWaiting_thenOnlyWaitingReturned() {
+        List<Booking> bookings = bookingRepository.findSlice(BookingSpecifications.byRoleAndState(user1.getId(),
+                BookingRole.OWNER, State.WAITING), Sort.unsorted(), PageRequest.of(0, 10));
+
+        assertThat(bookings.size(), is(1));
+        assertThat(bookings.get(0).getId(), is(booking.getId()));
+    }
+
+    @Test
+    void findSlice_whenBookerPast_thenOnlyApprovedReturned() {
+        booking.setEnd(LocalDateTime.now().minusHours(1));
+        bookingApproved.setEnd(LocalDateTime.now().minusHours(1));
+        bookingRepository.save(booking);
+        bookingRepository.save(bookingApproved);
+
+        List<Booking> bookings = bookingRepository.findSlice(BookingSpecifications.byRoleAndState(user2.getId(),
+                BookingRole.BOOKER, State.PAST), Sort.unsorted(), null);
+
+        assertThat(bookings.size(), is(1));
+        assertThat(bookings.get(0).getId(), is(bookingApproved.getId()));
+    }
+
+    @Test
+    void findLastAndNextByItemIds_whenHistoryPresent_thenOnlyNearestReturned() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(Booking.builder().start(now.minusDays(10)).end(now.minusDays(9))
+                .item(item2).booker(user2).status(BookingStatus.APPROVED).build());
+        Booking next = bookingRepository.save(Booking.builder().start(now.plusDays(2)).end(now.plusDays(3))
+                .item(item2).booker(user1).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().start(now.plusDays(5)).end(now.plusDays(6))
+                .item(item2).booker(user2).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().start(now.plusDays(1)).end(now.plusDays(2))
+                .item(item2).booker(user2).status(BookingStatus.REJECTED).build());
+
+        List<ItemBookingSummary> summaries = bookingRepository.findLastAndNextByItemIds(
+                List.of(item1.getId(), item2.getId()), now);
+
+        assertThat(summaries.size(), is(1));
+        ItemBookingSummary summary = summaries.get(0);
+        assertThat(summary.getItemId(), is(item2.getId()));
+        assertThat(summary.getLastBookingId(), is(bookingApproved.getId()));
+        assertThat(summary.getLastBookerId(), is(user2.getId()));
+        assertThat(summary.getNextBookingId(), is(next.getId()));
+        assertThat(summary.getNextBookerId(), is(user1.getId()));
+    }
+
     @Test
     void updateBookingTest() {
         booking.setStatus(BookingStatus.APPROVED);
-        assertEquals(BookingStatus.APPROVED, bookingRepository.findByBooker_IdAndStatus(2L, BookingStatus.APPROVED, Pageable.unpaged()).get(0).getStatus());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findByBooker_IdAndStatus(user2.getId(), BookingStatus.APPROVED, Pageable.unpaged()).get(0).getStatus());
     }
 
 }
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Параллельные PATCH /bookings/{id}?approved= одного владельца: каждая смена статуса проходит ровно один раз,
+ * проигравшие получают «Уже одобрено»/«Уже отклонено» или 409, а версия растёт на число успешных переходов.
+ * Без @Transactional: каждый вызов коммитится в своей транзакции, как в настоящих запросах.
+ * Сервис сверяет занятость вещи под полосой BookingIntervalIndex, поэтому отдельный тест гоняет условный UPDATE
+ * репозитория напрямую — исключительность смены обеспечивает сама БД по version.
+ */
+@SpringBootTest
+class BookingApprovalConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 200;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService executor;
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        owner = userRepository.save(User.builder().name("race-owner").email("race-owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("race-booker").email("race-booker@mail.ru").build());
+        item = itemRepository.save(Item.builder().name("race").description("race item")
+                .available(true).owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        bookings.forEach(booking -> bookingRepository.deleteById(booking.getId()));
+        itemRepository.delete(item);
+        userRepository.delete(booker);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void updateBooking_whenConcurrentApprovals_thenApprovedExactlyOnce() throws Exception {
+        Booking booking = waiting(1);
+
+        List<Outcome> outcomes = race(REQUESTS, attempt -> bookingService.updateBooking(booking.getId(), owner.getId(), true));
+
+        assertEquals(1, outcomes.stream().filter(outcome -> outcome == Outcome.CHANGED).count());
+        assertEquals(REQUESTS - 1, outcomes.stream().filter(outcome -> outcome == Outcome.REFUSED).count());
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(BookingStatus.APPROVED, stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void updateBooking_whenConcurrentApproveAndReject_thenVersionCountsEveryTransition() throws Exception {
+        Booking booking = waiting(2);
+
+        List<Outcome> outcomes = race(REQUESTS, attempt ->
+                bookingService.updateBooking(booking.getId(), owner.getId(), attempt % 2 == 0));
+
+        long changed = outcomes.stream().filter(outcome -> outcome == Outcome.CHANGED).count();
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(changed, stored.getVersion());
+        assertEquals(REQUESTS, outcomes.size());
+    }
+
+    @Test
+    void updateStatus_whenConcurrentWritersReadSameVersion_thenExactlyOneApplies() throws Exception {
+        Booking booking = waiting(3);
+        long version = bookingRepository.findTransitionById(booking.getId()).orElseThrow().getVersion();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            BookingStatus target = i % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return transactionTemplate.execute(status ->
+                        bookingRepository.updateStatus(booking.getId(), version, target));
+            }));
+        }
+        start.countDown();
+        int updated = 0;
+        for (Future<Integer> future : futures) {
+            updated += future.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, updated);
+        assertEquals(version + 1, bookingRepository.findById(booking.getId()).orElseThrow().getVersion());
+    }
+
+    private Booking waiting(int daysAhead) {
+        LocalDateTime start = LocalDateTime.now().plusDays(daysAhead);
+        Booking booking = bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(start).end(start.plusHours(1)).status(BookingStatus.WAITING).build());
+        bookings.add(booking);
+        return booking;
+    }
+
+    private List<Outcome> race(int requests, Attempt attempt) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Outcome>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            int number = i;
+            Callable<Outcome> task = () -> {
+                start.await();
+                try {
+                    attempt.run(number);
+                    return Outcome.CHANGED;
+                } catch (ValidationException | ConflictException e) {
+                    return Outcome.REFUSED;
+                }
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        List<Outcome> outcomes = new ArrayList<>();
+        for (Future<Outcome> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private enum Outcome {
+        CHANGED, REFUSED
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        void run(int number);
+    }
+}
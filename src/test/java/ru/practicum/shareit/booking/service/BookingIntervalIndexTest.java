@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingItemInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private final Item item = Item.builder().id(1L).build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingIntervalIndex, "enabled", true);
+    }
+
+    @Test
+    void isFree_whenWindowOverlapsExistingBooking_thenFalse() {
+        when(bookingRepository.findAllByItem_IdAndStatusIn(1L, BookingIntervalIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of(interval(10L, base, base.plusDays(2))));
+
+        assertFalse(bookingIntervalIndex.isFree(1L, base.plusDays(1), base.plusDays(3)));
+        assertFalse(bookingIntervalIndex.isFree(1L, base.minusDays(1), base.plusHours(1)));
+        assertTrue(bookingIntervalIndex.isFree(1L, base.plusDays(2), base.plusDays(3)));
+        assertTrue(bookingIntervalIndex.isFree(1L, base.minusDays(1), base));
+        verify(bookingRepository, times(1)).findAllByItem_IdAndStatusIn(anyLong(), any());
+    }
+
+    @Test
+    void isFree_whenLongBookingCoversLaterOnes_thenFalse() {
+        when(bookingRepository.findAllByItem_IdAndStatusIn(1L, BookingIntervalIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of(interval(10L, base, base.plusDays(30)),
+                        interval(11L, base.plusDays(1), base.plusDays(2))));
+
+        assertFalse(bookingIntervalIndex.isFree(1L, base.plusDays(10), base.plusDays(11)));
+    }
+
+    @Test
+    void addAndRemove_whenWriteThrough_thenIndexUpdatedWithoutReload() {
+        when(bookingRepository.findAllByItem_IdAndStatusIn(1L, BookingIntervalIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of());
+        Booking booking = booking(20L, base.plusDays(5), base.plusDays(6));
+
+        assertTrue(bookingIntervalIndex.isFree(1L, base.plusDays(5), base.plusDays(6)));
+        bookingIntervalIndex.add(booking);
+        assertFalse(bookingIntervalIndex.isFree(1L, base.plusDays(5), base.plusDays(6)));
+        bookingIntervalIndex.remove(booking);
+        assertTrue(bookingIntervalIndex.isFree(1L, base.plusDays(5), base.plusDays(6)));
+        verify(bookingRepository, times(1)).findAllByItem_IdAndStatusIn(anyLong(), any());
+    }
+
+    @Test
+    void preload_whenSeveralItems_thenOneQueryAndNoPerItemLoads() {
+        when(bookingRepository.findAllByItem_IdInAndStatusIn(List.of(1L, 2L), BookingIntervalIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of(itemInterval(10L, 1L, base, base.plusDays(2))));
+
+        bookingIntervalIndex.preload(List.of(1L, 2L));
+        bookingIntervalIndex.preload(List.of(1L, 2L));
+
+        assertFalse(bookingIntervalIndex.isFree(1L, base.plusDays(1), base.plusDays(3)));
+        assertTrue(bookingIntervalIndex.isFree(2L, base.plusDays(1), base.plusDays(3)));
+        verify(bookingRepository, times(1)).findAllByItem_IdInAndStatusIn(anyCollection(), any());
+        verify(bookingRepository, never()).findAllByItem_IdAndStatusIn(anyLong(), any());
+    }
+
+    @Test
+    void isFree_whenIndexDisabled_thenDatabaseQueried() {
+        ReflectionTestUtils.setField(bookingIntervalIndex, "enabled", false);
+        when(bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfter(1L,
+                BookingIntervalIndex.ACTIVE_STATUSES, base.plusDays(1), base)).thenReturn(true);
+
+        assertFalse(bookingIntervalIndex.isFree(1L, base, base.plusDays(1)));
+        verify(bookingRepository, never()).findAllByItem_IdAndStatusIn(anyLong(), any());
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder().id(id).item(item).start(start).end(end).status(BookingStatus.WAITING).build();
+    }
+
+    private static BookingInterval interval(Long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+
+    private static BookingItemInterval itemInterval(Long id, Long itemId, LocalDateTime start, LocalDateTime end) {
+        return new BookingItemInterval() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
@@ -3,8 +3,11 @@ package ru.practicum.shareit.booking.service;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.enums.BookingExportFormat;
+import ru.practicum.shareit.booking.enums.BookingRole;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,12 +21,16 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.utility.PageableMaker;
 
 import javax.transaction.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -43,8 +50,8 @@ class BookingServiceTest {
     Item item = new Item(1L, "item1", "description1", true, user, null);
     Booking booking = Booking.builder().id(1L).start(LocalDateTime.now()).end(LocalDateTime.now().plusDays(1)).booker(user).item(item).status(BookingStatus.WAITING).state(State.CURRENT).build();
     Booking booking2 = Booking.builder().id(2L).start(LocalDateTime.now()).end(LocalDateTime.now().plusDays(1)).booker(user2).item(item).status(BookingStatus.WAITING).state(State.CURRENT).build();
-    Booking bookingApproved = new Booking(3L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), item, user2, BookingStatus.APPROVED, State.CURRENT);
-    Booking bookingRejected = new Booking(4L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), item, user2, BookingStatus.REJECTED, State.CURRENT);
+    Booking bookingApproved = new Booking(3L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), item, user2, BookingStatus.APPROVED, State.CURRENT, 0L);
+    Booking bookingRejected = new Booking(4L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), item, user2, BookingStatus.REJECTED, State.CURRENT, 0L);
 
 
     @Autowired
@@ -56,10 +63,20 @@ class BookingServiceTest {
         userRepository.save(user);
         userRepository.save(user2);
         itemRepository.save(item);
-        bookingRepository.save(booking);
-        bookingRepository.save(booking2);
-        bookingRepository.save(bookingApproved);
-        bookingRepository.save(bookingRejected);
+        booking = saveFixture(booking);
+        booking2 = saveFixture(booking2);
+        bookingApproved = saveFixture(bookingApproved);
+        bookingRejected = saveFixture(bookingRejected);
+    }
+
+    /**
+     * Бронирования с теми же ID пересохраняются для каждого теста, поэтому берём актуальную версию из БД,
+     * иначе merge упадёт на проверке @Version. Тесты работают с возвращённой копией: merge увеличивает версию
+     * у неё, а не у переданного объекта.
+     */
+    private Booking saveFixture(Booking fixture) {
+        bookingRepository.findById(fixture.getId()).ifPresent(existing -> fixture.setVersion(existing.getVersion()));
+        return bookingRepository.save(fixture);
     }
 
     @Test
@@ -126,6 +143,27 @@ class BookingServiceTest {
         assertEquals(List.of(bookingRejected).get(0).getId(), bookingService.getAllBookingByUserId(user2.getId(), "REJECTED", Pageable.unpaged()).get(0).getId());
     }
 
+    @Test
+    void exportBookingsNdjsonTest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingService.exportBookings(user2.getId(), BookingRole.BOOKER, State.ALL, BookingExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+    }
+
+    @Test
+    void exportBookingsCsvTest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingService.exportBookings(user.getId(), BookingRole.OWNER, State.REJECTED, BookingExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,start,end,item_id,item_name,booker_id,status", lines[0]);
+        assertTrue(lines[1].endsWith(",item1," + bookingRejected.getBooker().getId() + ",REJECTED"));
+    }
+
     @Test
     void getAllBookingByUserIdNegativeTest() {
         assertThrows(ValidationException.class, () -> PageableMaker.makePageable(-1, -1, Sort.by("id").ascending()));
@@ -137,6 +175,12 @@ class BookingServiceTest {
 
     }
 
+    @Test
+    void getAllBookingByUserIdPagePastEndTest() {
+        assertEquals(new ArrayList<>(), bookingService.getAllBookingByUserId(user2.getId(), "PAST", PageRequest.of(0, 2)));
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingByUserId(user2.getId(), "ALL", PageRequest.of(2, 2)));
+    }
+
     @Test
     void getAllBookingByUserIdBadStateTest() {
         assertThrows(ValidationException.class, () -> bookingService.getAllBookingByUserId(user2.getId(), "BAD_STATE", Pageable.unpaged()).get(0).getId());
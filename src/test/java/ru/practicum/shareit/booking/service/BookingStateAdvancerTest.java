@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingStateAdvancerTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingStateAdvancer advancer = new BookingStateAdvancer(bookingRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    private final Map<Long, State> moved = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        advancer.onAdvance(moved::put);
+        when(bookingRepository.updateState(anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+    }
+
+    @Test
+    void phaseAt_whenComparedWithNow_thenFutureCurrentPast() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(State.FUTURE, BookingStateAdvancer.phaseAt(now.plusHours(1), now.plusHours(2), now));
+        assertEquals(State.CURRENT, BookingStateAdvancer.phaseAt(now.minusHours(1), now.plusHours(1), now));
+        assertEquals(State.PAST, BookingStateAdvancer.phaseAt(now.minusHours(2), now.minusHours(1), now));
+    }
+
+    @Test
+    void advance_whenTransitionsDue_thenOnlyDueBookingsUpdated() {
+        LocalDateTime now = LocalDateTime.now();
+        advancer.track(1L, now.minusHours(1), now.plusHours(1), State.FUTURE);
+        advancer.track(2L, now.minusHours(2), now.minusHours(1), State.FUTURE);
+        advancer.track(3L, now.minusHours(2), now.minusMinutes(1), State.CURRENT);
+        advancer.track(4L, now.plusHours(1), now.plusHours(2), State.FUTURE);
+
+        advancer.advance();
+
+        verify(bookingRepository).updateState(List.of(1L), State.CURRENT);
+        verify(bookingRepository).updateState(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(2L, 3L))),
+                eq(State.PAST));
+        assertEquals(Map.of(1L, State.CURRENT, 2L, State.PAST, 3L, State.PAST), moved);
+    }
+
+    @Test
+    void advance_whenBookingStarts_thenItemOfApprovedTouched() {
+        LocalDateTime now = LocalDateTime.now();
+        Item item = Item.builder().id(1L).build();
+        when(bookingRepository.findItemsByIdInAndStatus(anyCollection(), eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(item));
+        advancer.track(1L, now.minusHours(1), now.plusHours(1), State.FUTURE);
+        advancer.track(2L, now.minusHours(2), now.minusMinutes(1), State.CURRENT);
+
+        advancer.advance();
+
+        verify(bookingRepository).findItemsByIdInAndStatus(List.of(1L), BookingStatus.APPROVED);
+        assertNotNull(item.getUpdated());
+    }
+
+    @Test
+    void catchUp_whenApprovedBookingStartedWhileDown_thenItemTouched() {
+        Item item = Item.builder().id(1L).build();
+        when(bookingRepository.findItemsByStartBeforeAndStateAndStatus(any(), eq(State.FUTURE), eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(item));
+
+        advancer.catchUp();
+
+        assertNotNull(item.getUpdated());
+    }
+
+    @Test
+    void advance_whenUntracked_thenNotUpdated() {
+        LocalDateTime now = LocalDateTime.now();
+        advancer.track(1L, now.minusHours(1), now.plusHours(1), State.FUTURE);
+        advancer.untrack(1L);
+
+        advancer.advance();
+
+        verify(bookingRepository, never()).updateState(anyCollection(), any());
+        assertTrue(moved.isEmpty());
+    }
+
+    @Test
+    void advance_whenUpdateFails_thenRetriedOnNextTick() {
+        LocalDateTime now = LocalDateTime.now();
+        advancer.track(1L, now.minusHours(1), now.plusHours(1), State.FUTURE);
+        when(bookingRepository.updateState(anyCollection(), any()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(1);
+
+        advancer.advance();
+        assertTrue(moved.isEmpty());
+        advancer.advance();
+
+        assertEquals(Map.of(1L, State.CURRENT), moved);
+    }
+
+    @Test
+    void advance_whenRowNotFound_thenRetriedWithoutNotifying() {
+        LocalDateTime now = LocalDateTime.now();
+        advancer.track(1L, now.minusHours(1), now.plusHours(1), State.FUTURE);
+        advancer.track(2L, now.minusHours(1), now.plusHours(1), State.FUTURE);
+        when(bookingRepository.updateState(anyCollection(), any()))
+                .thenReturn(1)
+                .thenReturn(1);
+        when(bookingRepository.findIdsByIdInAndState(anyCollection(), eq(State.CURRENT)))
+                .thenReturn(List.of(2L));
+
+        advancer.advance();
+        assertEquals(Map.of(2L, State.CURRENT), moved);
+        advancer.advance();
+
+        verify(bookingRepository).updateState(List.of(1L), State.CURRENT);
+        assertEquals(Map.of(1L, State.CURRENT, 2L, State.CURRENT), moved);
+    }
+
+    @Test
+    void advance_whenRowMissingRepeatedly_thenDropped() {
+        LocalDateTime now = LocalDateTime.now();
+        advancer.track(1L, now.minusHours(1), now.plusHours(1), State.FUTURE);
+        when(bookingRepository.updateState(anyCollection(), any()))
+                .thenReturn(0);
+
+        for (int tick = 0; tick < 12; tick++) {
+            advancer.advance();
+        }
+
+        verify(bookingRepository, times(10)).updateState(anyCollection(), any());
+        assertTrue(moved.isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingStateCountersTest {
+
+    private final BookingStateCounters counters = new BookingStateCounters(null, null, null);
+    private final User owner = new User(1L, "owner", "owner@mail.ru");
+    private final User booker = new User(2L, "booker", "booker@mail.ru");
+    private final Item item = new Item(1L, "item", "description", true, owner, null);
+
+    @Test
+    void created_whenFutureBooking_thenCountedForBookerAndOwner() {
+        counters.created(booking(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                BookingStatus.WAITING));
+
+        Map<State, Long> bookerSummary = counters.summary(booker.getId(), BookingRole.BOOKER);
+        assertEquals(1L, bookerSummary.get(State.ALL));
+        assertEquals(1L, bookerSummary.get(State.FUTURE));
+        assertEquals(1L, bookerSummary.get(State.WAITING));
+        assertEquals(0L, bookerSummary.get(State.CURRENT));
+        assertEquals(bookerSummary, counters.summary(owner.getId(), BookingRole.OWNER));
+    }
+
+    @Test
+    void statusChanged_whenRejected_thenMovesFromWaitingToRejected() {
+        Booking booking = booking(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                BookingStatus.WAITING);
+        counters.created(booking);
+
+        booking.setStatus(BookingStatus.REJECTED);
+        counters.statusChanged(booking, BookingStatus.WAITING);
+
+        Map<State, Long> summary = counters.summary(owner.getId(), BookingRole.OWNER);
+        assertEquals(0L, summary.get(State.WAITING));
+        assertEquals(1L, summary.get(State.REJECTED));
+        assertEquals(1L, summary.get(State.ALL));
+    }
+
+    @Test
+    void advanced_whenBookingsEnded_thenPastOnlyApprovedForBooker() {
+        LocalDateTime now = LocalDateTime.now();
+        counters.created(booking(1L, now.plusHours(1), now.plusHours(2), BookingStatus.APPROVED));
+        counters.created(booking(2L, now.plusHours(1), now.plusHours(2), BookingStatus.WAITING));
+
+        counters.advanced(1L, State.CURRENT);
+        counters.advanced(1L, State.PAST);
+        counters.advanced(2L, State.PAST);
+
+        Map<State, Long> bookerSummary = counters.summary(booker.getId(), BookingRole.BOOKER);
+        Map<State, Long> ownerSummary = counters.summary(owner.getId(), BookingRole.OWNER);
+        assertEquals(0L, bookerSummary.get(State.FUTURE));
+        assertEquals(0L, bookerSummary.get(State.CURRENT));
+        assertEquals(1L, bookerSummary.get(State.PAST));
+        assertEquals(2L, ownerSummary.get(State.PAST));
+    }
+
+    @Test
+    void summary_whenUnknownUser_thenZeros() {
+        assertEquals(0L, counters.summary(42L, BookingRole.BOOKER).get(State.ALL));
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder().id(id).item(item).booker(booker).start(start).end(end).status(status)
+                .state(BookingStateAdvancer.phaseAt(start, end, LocalDateTime.now())).build();
+    }
+}
@@ -5,8 +5,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.SQLException;
+
 
 
 import static org.hamcrest.MatcherAssert.*;
@@ -105,6 +110,27 @@ class ErrorHandlerTest {
         assertThat(errorHandler.handleValidationException(v).getError(), equalTo("Не прошла валидация"));
     }
 
+    @Test
+    void bookingPeriodExclusionViolated_thenConflict() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute batch",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01"));
+
+        ResponseEntity<ErrorResponse> response = new ErrorHandler().handleDataIntegrityViolationException(e);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.CONFLICT));
+        assertThat(response.getBody().getError(), equalTo("Вещь уже забронирована на это время"));
+    }
+
+    @Test
+    void otherIntegrityViolation_thenInternalServerError() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("null value in column", "23502"));
+
+        ResponseEntity<ErrorResponse> response = new ErrorHandler().handleDataIntegrityViolationException(e);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
     @Test
     void direct_NotFoundException_ErrorResponse() {
         errorResponse = new ErrorResponse("Тест");
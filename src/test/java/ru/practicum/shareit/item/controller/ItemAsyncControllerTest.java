@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.config.ReadOffload;
+import ru.practicum.shareit.config.SqlStatementCounter;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.config.SqlStatementHeaderAdvice.SQL_STATEMENT_COUNT;
+
+@WebMvcTest(controllers = ItemAsyncController.class, properties = "shareit.sql.statement-header.enabled=true")
+@Import(ReadOffload.class)
+class ItemAsyncControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @MockBean
+    private ItemService itemService;
+    @MockBean
+    private UserExistenceService userExistenceService;
+
+    @Test
+    void getListItemByUserId_whenOffloaded_thenServiceRunsOnReadPool() throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(itemService.getListItemByUserId(eq(1L), any())).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return List.of(ItemDtoWithBooking.builder().id(1L).name("item name").available(true).build());
+        });
+
+        MvcResult result = mvc.perform(get("/async/items").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].name", is("item name")));
+        assertThat(thread.get(), startsWith("read-"));
+    }
+
+    @Test
+    void getItemById_whenStatementsRunOnReadPool_thenCountedForRequest() throws Exception {
+        when(itemService.getItemETag(1L, 1L)).thenAnswer(invocation -> {
+            new SqlStatementCounter().afterQuery(null, List.of());
+            return "\"item-1-0-viewer\"";
+        });
+        when(itemService.getItemById(1L, 1L)).thenAnswer(invocation -> {
+            new SqlStatementCounter().afterQuery(null, List.of());
+            new SqlStatementCounter().afterQuery(null, List.of());
+            return ItemDtoWithBooking.builder().id(1L).name("item name").available(true).build();
+        });
+
+        MvcResult result = mvc.perform(get("/async/items/{itemId}", 1L).header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SQL_STATEMENT_COUNT, "3"));
+    }
+
+    @Test
+    void getItemById_whenETagMatches_thenNotModifiedWithoutCard() throws Exception {
+        when(itemService.getItemETag(1L, 1L)).thenReturn("\"item-1-0-viewer\"");
+        when(itemService.getItemById(1L, 1L))
+                .thenReturn(ItemDtoWithBooking.builder().id(1L).name("item name").available(true).build());
+
+        MvcResult first = mvc.perform(get("/async/items/{itemId}", 1L).header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-0-viewer\""))
+                .andExpect(jsonPath("$.name", is("item name")));
+
+        MvcResult second = mvc.perform(get("/async/items/{itemId}", 1L).header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-0-viewer\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(second))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(itemService, times(1)).getItemById(1L, 1L);
+    }
+
+    @Test
+    void getItemById_whenServiceThrows_thenErrorHandlerStatus() throws Exception {
+        when(itemService.getItemETag(anyLong(), anyLong())).thenReturn("\"item-1-0-viewer\"");
+        when(itemService.getItemById(anyLong(), anyLong())).thenThrow(new NotFoundException("Вещь не найдена"));
+
+        MvcResult result = mvc.perform(get("/async/items/{itemId}", 1L).header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("Вещь не найдена")));
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.TestFixtures;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Условные GET карточек вещи и запроса: ETag зависит от роли зрителя и меняется вместе со всем,
+ * что видно в ответе, — правкой вещи, одобрением бронирования, переименованием автора комментария
+ * и откликом на запрос.
+ * flush() в тестах заменяет коммит, на котором Hibernate проставляет updated.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Import(TestFixtures.class)
+class ItemConditionalGetTest {
+
+    private static final String USER_ID = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User viewer;
+    private Item item;
+    private Booking booking;
+    private ItemRequest itemRequest;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("etag-owner");
+        viewer = fixtures.user("etag-viewer");
+        item = fixtures.item(owner, "etag");
+        booking = fixtures.booking(item, viewer, LocalDateTime.now().plusDays(1), BookingStatus.WAITING);
+        itemRequest = fixtures.request(viewer, "etag request");
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    void getItemById_whenOwnerAndViewer_thenDifferentETags() throws Exception {
+        String ownerETag = itemETag(owner);
+        String viewerETag = itemETag(viewer);
+
+        assertNotEquals(ownerETag, viewerETag);
+        mvc.perform(get("/items/{itemId}", item.getId()).header(USER_ID, viewer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, ownerETag))
+                .andExpect(status().isOk());
+        mvc.perform(get("/items/{itemId}", item.getId()).header(USER_ID, viewer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, viewerETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getItemById_whenItemUpdated_thenETagChanged() throws Exception {
+        String before = itemETag(viewer);
+
+        mvc.perform(patch("/items/{itemId}", item.getId()).header(USER_ID, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"etag updated\"}"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        mvc.perform(get("/items/{itemId}", item.getId()).header(USER_ID, viewer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getItemById_whenBookingApproved_thenOwnerETagChanged() throws Exception {
+        String before = itemETag(owner);
+
+        mvc.perform(patch("/bookings/{bookingId}", booking.getId()).header(USER_ID, owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        mvc.perform(get("/items/{itemId}", item.getId()).header(USER_ID, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getItemById_whenCommentAuthorRenamed_thenETagChanged() throws Exception {
+        fixtures.comment(item, viewer, "etag comment", LocalDateTime.now());
+        entityManager.flush();
+        String before = itemETag(owner);
+
+        mvc.perform(patch("/users/{userId}", viewer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"etag renamed\"}"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        mvc.perform(get("/items/{itemId}", item.getId()).header(USER_ID, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getItemRequestById_whenItemAdded_thenETagChanged() throws Exception {
+        String before = mvc.perform(get("/requests/{id}", itemRequest.getId()).header(USER_ID, viewer.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get("/requests/{id}", itemRequest.getId()).header(USER_ID, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isNotModified());
+
+        mvc.perform(post("/items").header(USER_ID, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"answer\", \"description\": \"answer item\", \"available\": true, "
+                                + "\"requestId\": " + itemRequest.getId() + "}"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        mvc.perform(get("/requests/{id}", itemRequest.getId()).header(USER_ID, viewer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    private String itemETag(User user) throws Exception {
+        return mvc.perform(get("/items/{itemId}", item.getId()).header(USER_ID, user.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
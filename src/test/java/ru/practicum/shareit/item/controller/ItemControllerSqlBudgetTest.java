@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.SqlBudget;
+import ru.practicum.shareit.utility.TestFixtures;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.config.SqlStatementHeaderAdvice.SQL_STATEMENT_COUNT;
+
+/**
+ * SQL-бюджеты эндпоинтов вещей и запросов на реальном контексте: комментарии разных авторов и вещи
+ * разных владельцев ловят N+1 по жадным связям. У каждой вещи владельца по два будущих бронирования,
+ * чтобы список показывал ближайшее из них.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Import(TestFixtures.class)
+class ItemControllerSqlBudgetTest {
+
+    private static final int ITEMS = 3;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User requester;
+    private Item item;
+    private ItemRequest itemRequest;
+    private Booking firstNext;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = fixtures.user("budget-owner");
+        requester = fixtures.user("budget-requester");
+        itemRequest = fixtures.request(requester, "budget request");
+        for (int i = 0; i < ITEMS; i++) {
+            User booker = fixtures.user("budget-booker" + i);
+            item = fixtures.item(owner, "budget" + i);
+            fixtures.booking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+            fixtures.booking(item, booker, now.plusDays(5), now.plusDays(6), BookingStatus.APPROVED);
+            Booking next = fixtures.booking(item, booker, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+            if (i == 0) {
+                firstNext = next;
+            }
+            fixtures.comment(item, booker, "comment" + i, now.minusDays(1));
+            fixtures.item(fixtures.user("budget-answerer" + i), "answer" + i, itemRequest);
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            fixtures.comment(item, fixtures.user("budget-author" + i), "late comment" + i, now.minusHours(i));
+        }
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    @SqlBudget(3)
+    void getListItemByUserId_whenOwnerHasItems_thenWithinBudget() throws Exception {
+        mvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(ITEMS)))
+                .andExpect(jsonPath("$[0].lastBooking").exists())
+                .andExpect(jsonPath("$[0].nextBooking.id", is(firstNext.getId()), Long.class))
+                .andExpect(jsonPath("$[0].comments[0].authorName", is("budget-booker0")))
+                .andExpect(header().string(SQL_STATEMENT_COUNT, "3"));
+    }
+
+    @Test
+    @SqlBudget(1)
+    void getListItemByUserId_whenNoItems_thenSingleStatement() throws Exception {
+        mvc.perform(get("/items").header("X-Sharer-User-Id", Long.MAX_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)))
+                .andExpect(header().string(SQL_STATEMENT_COUNT, "1"));
+    }
+
+    @Test
+    @SqlBudget(3)
+    void getItemById_whenOwnerAndCommentsFromManyAuthors_thenWithinBudget() throws Exception {
+        mvc.perform(get("/items/{itemId}", item.getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()", is(ITEMS + 1)));
+    }
+
+    @Test
+    @SqlBudget(4)
+    void getItemById_whenNotModified_thenCommentsAndBookingsNotRead() throws Exception {
+        String eTag = mvc.perform(get("/items/{itemId}", item.getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        entityManager.clear();
+
+        mvc.perform(get("/items/{itemId}", item.getId()).header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @SqlBudget(2)
+    void getItemById_whenNotOwner_thenWithinBudget() throws Exception {
+        mvc.perform(get("/items/{itemId}", item.getId()).header("X-Sharer-User-Id", requester.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(2)
+    void getItemRequestById_whenAnsweredByManyOwners_thenWithinBudget() throws Exception {
+        mvc.perform(get("/requests/{id}", itemRequest.getId()).header("X-Sharer-User-Id", requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", is(ITEMS)));
+    }
+
+    @Test
+    @SqlBudget(2)
+    void getAllRequestsForUser_whenPageHasRequests_thenWithinBudget() throws Exception {
+        mvc.perform(get("/requests/all").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+    }
+}
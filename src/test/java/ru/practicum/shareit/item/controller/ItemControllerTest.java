@@ -9,13 +9,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.comment.dto.CommentDtoResponse;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
@@ -24,6 +27,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +39,8 @@ class ItemControllerTest {
     private MockMvc mvc;
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private UserExistenceService userExistenceService;
     public static final String SHARER_USER_ID = "X-Sharer-User-Id";
     private ItemDtoResponse itemDto;
     private CommentDtoResponse commentDto;
@@ -95,6 +101,22 @@ class ItemControllerTest {
                 .createItem(anyLong(), any());
     }
 
+    @SneakyThrows
+    @Test
+    void create_whenNotValidFieldsAndUnknownUser_thenReturnStatusBadRequest() {
+        doThrow(new NotFoundException("Пользователь с ID 100 не найден"))
+                .when(userExistenceService).requireExists(100L);
+
+        mvc.perform(post("/items")
+                        .content(mapper.writeValueAsString(ItemDtoResponse.builder().build()))
+                        .header(SHARER_USER_ID, 100L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(userExistenceService, never()).requireExists(anyLong());
+    }
+
     @SneakyThrows
     @Test
     void getById_whenInvoked_thenGetItemDtoResponse() {
@@ -121,6 +143,22 @@ class ItemControllerTest {
                 .getItemById(anyLong(), anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    void getById_whenETagMatches_thenNotModifiedWithoutLoadingItem() {
+        String eTag = "\"item-1-abc-owner\"";
+        when(itemService.getItemETag(1L, 1L))
+                .thenReturn(eTag);
+
+        mvc.perform(get("/items/{itemId}", 1L)
+                        .header(SHARER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verify(itemService, never())
+                .getItemById(anyLong(), anyLong());
+    }
+
     @SneakyThrows
     @Test
     void getAll_whenInvoked_thenGetEmptyList() {
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private TrigramItemSearchEngine searchEngine;
+
+    private final Map<Long, Item> stored = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        save(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true).build());
+        save(Item.builder().id(2L).name("Отвёртка").description("Аккумуляторная отвёртка").available(true).build());
+        save(Item.builder().id(3L).name("Дрель ударная").description("Мощная").available(false).build());
+        save(Item.builder().id(4L).name("Клей").description("Клей для дрели").available(true).build());
+        when(itemRepository.findAllProjectedBy()).thenReturn(stored.values().stream()
+                .map(item -> new ItemSearchDocument(item.getId(), item.getName(), item.getDescription(),
+                        item.getAvailable()))
+                .collect(Collectors.toList()));
+        lenient().when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Item> items = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> items.add(stored.get(id)));
+            return items;
+        });
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void search_whenSubstringInNameOrDescription_thenAvailableMatchesById() {
+        assertThat(ids(searchEngine.search("ДрЕл", Pageable.unpaged())), contains(1L, 4L));
+        assertThat(ids(searchEngine.search("кумулятор", Pageable.unpaged())), contains(2L));
+    }
+
+    @Test
+    void search_whenQueryShorterThanTrigram_thenScansAllDocuments() {
+        assertThat(ids(searchEngine.search("ей", Pageable.unpaged())), contains(4L));
+    }
+
+    @Test
+    void search_whenPaged_thenFromAndSizeApplied() {
+        assertThat(ids(searchEngine.search("дрел", PageRequest.of(1, 1))), contains(4L));
+    }
+
+    @Test
+    void search_whenNoMatch_thenEmpty() {
+        assertThat(searchEngine.search("пила", Pageable.unpaged()), empty());
+    }
+
+    @Test
+    void index_whenItemUpdated_thenOldTextForgottenAndAvailabilityApplied() {
+        save(Item.builder().id(1L).name("Пила").description("Ножовка").available(true).build());
+        save(Item.builder().id(3L).name("Дрель ударная").description("Мощная").available(true).build());
+        searchEngine.index(stored.get(1L));
+        searchEngine.index(stored.get(3L));
+
+        assertThat(ids(searchEngine.search("дрел", Pageable.unpaged())), contains(3L, 4L));
+        assertThat(ids(searchEngine.search("ножов", Pageable.unpaged())), contains(1L));
+    }
+
+    @Test
+    void index_whenOnlyAvailabilityToggled_thenVisibilityFollowsBitset() {
+        save(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(false).build());
+        searchEngine.index(stored.get(1L));
+
+        assertThat(ids(searchEngine.search("дрел", Pageable.unpaged())), contains(4L));
+
+        save(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true).build());
+        searchEngine.index(stored.get(1L));
+
+        assertThat(ids(searchEngine.search("дрел", Pageable.unpaged())), contains(1L, 4L));
+    }
+
+    @Test
+    void searchIds_whenPageFilled_thenScanStopsWithAscendingIds() {
+        assertThat(searchEngine.searchIds("ел", PageRequest.of(0, 1)).length, is(1));
+        assertThat(searchEngine.searchIds("ел", PageRequest.of(0, 1))[0], is(1L));
+    }
+
+    @Test
+    void remove_whenItemDeleted_thenNotFound() {
+        searchEngine.remove(4L);
+
+        assertThat(ids(searchEngine.search("дрел", Pageable.unpaged())), contains(1L));
+    }
+
+    @Test
+    void index_whenIdsSparseAndAboveInt_thenSearchedInIdOrder() {
+        save(Item.builder().id(5_000_000_000L).name("Дрель-шуруповёрт").description("Большой ID").available(true).build());
+        save(Item.builder().id(Long.MAX_VALUE).name("Клей").description("Ещё больше").available(true).build());
+        searchEngine.index(stored.get(Long.MAX_VALUE));
+        searchEngine.index(stored.get(5_000_000_000L));
+
+        assertThat(ids(searchEngine.search("дрел", Pageable.unpaged())), contains(1L, 4L, 5_000_000_000L));
+        assertThat(ids(searchEngine.search("ей", Pageable.unpaged())), contains(4L, Long.MAX_VALUE));
+    }
+
+    @Test
+    void index_whenSlotFreedByRemove_thenReusedWithoutMixingText() {
+        searchEngine.remove(2L);
+        save(Item.builder().id(1_000_000L).name("Пила").description("Ножовка").available(true).build());
+        searchEngine.index(stored.get(1_000_000L));
+
+        assertThat(searchEngine.search("отвёрт", Pageable.unpaged()), empty());
+        assertThat(ids(searchEngine.search("ножов", Pageable.unpaged())), contains(1_000_000L));
+        assertThat(ids(searchEngine.search("дрел", Pageable.unpaged())), contains(1L, 4L));
+    }
+
+    private void save(Item item) {
+        stored.put(item.getId(), item);
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -240,8 +240,8 @@ class ItemServiceImplTest {
         BookingDtoRequest bookingDtoRequest = BookingDtoRequest.builder()
                 .itemId(1L)
                 .id(111L)
-                .start(LocalDateTime.now().plusMinutes(10))
-                .end(LocalDateTime.now().plusDays(5))
+                .start(LocalDateTime.now().plusDays(100))
+                .end(LocalDateTime.now().plusDays(105))
                 .build();
 
         BookingDtoResponse keyBookingResponse = bookingService.createBooking(bookingDtoRequest, 2L);
@@ -265,14 +265,16 @@ class ItemServiceImplTest {
                 item16,
                 user16,
                 BookingStatus.APPROVED,
-                State.CURRENT);
+                State.CURRENT,
+                0L);
         Booking lastBooking = new Booking(1L,
                 LocalDateTime.now().minusDays(2),
                 localDateTime.now().minusDays(1),
                 item16,
                 user6,
                 BookingStatus.APPROVED,
-                State.CURRENT);
+                State.CURRENT,
+                0L);
 
         Comment comment = new Comment(1L, "hi", item16, user6, LocalDateTime.now().minusDays(1));
         List<Comment> comments = new ArrayList<>();
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.model.Item;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,9 +23,12 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +40,8 @@ class ItemRequestControllerTest {
     private ObjectMapper objectMapper;
     @MockBean
     private ItemRequestService itemRequestService;
+    @MockBean
+    private UserExistenceService userExistenceService;
     private final User user = new User(1L, "User1", "user1@mail.ru");
 
     private final ItemRequest itemRequest = new ItemRequest(1L, "text", user, LocalDateTime.now());
@@ -93,4 +100,17 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.id", is(notNullValue())))
                 .andExpect(jsonPath("$.description", is(itemRequest.getDescription())));
     }
+
+    @Test
+    void getRequestByIdTest_whenETagMatches_thenNotModified() throws Exception {
+        String eTag = "\"request-1-abc\"";
+        when(itemRequestService.getItemRequestETag(user.getId(), itemRequest.getId()))
+                .thenReturn(eTag);
+        mvc.perform(get("/requests/{id}", itemRequest.getId())
+                        .header("X-Sharer-User-Id", user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verify(itemRequestService, never()).getItemRequestById(anyLong(), anyLong());
+    }
 }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.enums.BookingStatus;
@@ -25,6 +26,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
@@ -48,6 +50,8 @@ class ItemRequestServiceTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private UserExistenceService userExistenceService;
     @Captor
     private ArgumentCaptor<ItemRequest> itemRequestArgumentCaptor;
     @InjectMocks
@@ -171,9 +175,6 @@ class ItemRequestServiceTest {
                 .request(itemRequest2)
                 .build();
         item.setOwner(user3);
-        Mockito
-                .when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
         Mockito
                 .when(requestRepository.findAllByRequester_IdOrderByCreatedAsc(userId))
                 .thenReturn(Arrays.asList(itemRequest1, itemRequest2));
@@ -189,8 +190,8 @@ class ItemRequestServiceTest {
     @Test
     void findAllByRequestorId_whenUserNotFound_thenNotFoundExceptionThrown() {
         long userId = 1L;
-        when(userRepository.findById(userId))
-                .thenThrow(new NotFoundException("Пользователь не существует!"));
+        doThrow(new NotFoundException("Пользователь не существует!"))
+                .when(userExistenceService).requireExists(userId);
 
 
         NotFoundException exception = assertThrows(NotFoundException.class,
@@ -231,6 +232,38 @@ class ItemRequestServiceTest {
         assertThat(allByParams, hasSize(0));
     }
 
+    @Test
+    void findAllByParams_whenPageHasRequests_thenItemsLoadedOnlyForPage() {
+        long userId = 1L;
+        ItemRequest itemRequest1 = ItemRequest.builder()
+                .id(10L)
+                .requester(user)
+                .build();
+        ItemRequest itemRequest2 = ItemRequest.builder()
+                .id(20L)
+                .requester(user)
+                .build();
+        Item item1 = Item.builder()
+                .id(2L)
+                .request(itemRequest1)
+                .build();
+        Item item2 = Item.builder()
+                .id(3L)
+                .request(itemRequest1)
+                .build();
+        when(requestRepository.findByRequester_IdNot(eq(userId), any(Pageable.class)))
+                .thenReturn(Arrays.asList(itemRequest1, itemRequest2));
+        when(itemRepository.findAllByRequest_IdIn(List.of(10L, 20L)))
+                .thenReturn(Arrays.asList(item1, item2));
+
+        List<ItemRequestDtoResponse> allByParams = itemRequestService.findAll(userId, 0, 2);
+
+        assertThat(allByParams, hasSize(2));
+        assertThat(allByParams.get(0).getItems(), hasSize(2));
+        assertThat(allByParams.get(1).getItems(), hasSize(0));
+        verify(requestRepository, never()).findAll();
+    }
+
     @Test
     void findAllByParams_whenUserNotFound_thenNotFoundExceptionThrown() {
         long userId = 1000L;
@@ -248,8 +281,8 @@ class ItemRequestServiceTest {
         long requestId = 1L;
         when(requestRepository.findById(requestId))
                 .thenReturn(Optional.of(itemRequest));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(userExistenceService.exists(userId))
+                .thenReturn(true);
         when(itemRepository.findAllByRequest_Id(requestId, Sort.by("id").descending()))
                 .thenReturn(Collections.singletonList(item));
 
@@ -274,8 +307,8 @@ class ItemRequestServiceTest {
     void findById_whenUserNotFound_thenNotFoundExceptionThrown() {
         long userId = 1L;
         long requestId = 1L;
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        when(userExistenceService.exists(userId))
+                .thenReturn(false);
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> itemRequestService.getItemRequestById(userId, requestId));
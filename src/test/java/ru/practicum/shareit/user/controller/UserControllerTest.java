@@ -7,10 +7,12 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.service.UserExistenceService;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
@@ -31,6 +33,8 @@ class UserControllerTest {
     private ObjectMapper mapper;
     @MockBean
     private UserService userService;
+    @MockBean
+    private UserExistenceService userExistenceService;
     private UserDto userDto;
 
     @BeforeEach
@@ -84,6 +88,8 @@ class UserControllerTest {
     @Test
     void getUserByIdTest() throws Exception {
 
+        when(userService.getUserETag(anyLong()))
+                .thenReturn("\"user-1-0\"");
         when(userService.getUserById(anyLong()))
                 .thenReturn(UserMapper.fromDtoToUser(userDto));
 
@@ -100,6 +106,32 @@ class UserControllerTest {
                 .getUserById(userDto.getId());
     }
 
+    @Test
+    void getUserByIdTest_whenETagMatches_thenNotModified() throws Exception {
+        when(userService.getUserETag(anyLong()))
+                .thenReturn("\"user-1-0\"");
+        when(userService.getUserById(anyLong()))
+                .thenReturn(UserMapper.fromDtoToUser(userDto));
+
+        String eTag = mockMvc.perform(get("/users/" + userDto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/" + userDto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(userService, times(1)).getUserById(anyLong());
+
+        when(userService.getUserETag(anyLong()))
+                .thenReturn("\"user-1-1\"");
+        mockMvc.perform(get("/users/" + userDto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(userDto.getId()), Long.class));
+    }
+
     @Test
     void retrieveAllUsersTest() throws Exception {
         when(userService.getAllUsersDto())
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private UserExistenceService userExistenceService;
+
+    @Test
+    void exists_whenWarmedUp_thenNoDatabaseCall() {
+        when(userRepository.findAllIds())
+                .thenReturn(LongStream.rangeClosed(1, 10_000).boxed().collect(Collectors.toList()));
+        userExistenceService.warmUp();
+
+        assertTrue(userExistenceService.exists(1L));
+        assertTrue(userExistenceService.exists(5_000L));
+        assertTrue(userExistenceService.exists(10_000L));
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void exists_whenMissedButPresentInDatabase_thenCheckedInDatabaseEachTime() {
+        when(userRepository.findAllIds()).thenReturn(List.of());
+        when(userRepository.existsById(7L)).thenReturn(true, false);
+        userExistenceService.warmUp();
+
+        assertTrue(userExistenceService.exists(7L));
+        assertFalse(userExistenceService.exists(7L));
+        verify(userRepository, times(2)).existsById(7L);
+    }
+
+    @Test
+    void requireExists_whenUnknown_thenNotFoundExceptionThrown() {
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> userExistenceService.requireExists(99L));
+        assertThat(exception.getMessage(), equalTo("Пользователь с ID 99 не найден"));
+    }
+
+    @Test
+    void remove_whenUserDeleted_thenFallsBackToDatabase() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(userRepository.existsById(2L)).thenReturn(false);
+        userExistenceService.warmUp();
+
+        userExistenceService.remove(2L);
+        userExistenceService.add(4L);
+
+        assertTrue(userExistenceService.exists(1L));
+        assertFalse(userExistenceService.exists(2L));
+        assertTrue(userExistenceService.exists(3L));
+        assertTrue(userExistenceService.exists(4L));
+    }
+
+    @Test
+    void add_whenManyAddedAndRemoved_thenSetStaysConsistent() {
+        LongHashSet ids = new LongHashSet();
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(ids.add(id));
+        }
+        for (long id = 1; id <= 100_000; id += 2) {
+            assertTrue(ids.remove(id));
+        }
+        for (long id = 1; id <= 100_000; id += 4) {
+            assertTrue(ids.add(id));
+        }
+
+        assertThat(ids.size(), equalTo(75_000));
+        assertTrue(ids.contains(1L));
+        assertFalse(ids.contains(3L));
+        assertTrue(ids.contains(100_000L));
+        assertFalse(ids.add(2L));
+        assertFalse(ids.contains(0L));
+    }
+}
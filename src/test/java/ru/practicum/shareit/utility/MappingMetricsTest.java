@@ -0,0 +1,50 @@
+package ru.practicum.shareit.utility;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class MappingMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+        MappingMetrics.drain();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void toBookingDtoResponseList_whenMapped_thenOneRecordForWholeList() {
+        User user = new User(1L, "user", "user@mail.ru");
+        Item item = new Item(1L, "item", "description", true, user, null);
+        Booking booking = Booking.builder().id(1L).item(item).booker(user)
+                .start(LocalDateTime.now()).end(LocalDateTime.now().plusDays(1)).build();
+
+        BookingMapper.toBookingDtoResponseList(List.of(booking, booking, booking));
+        BookingMapper.toBookingDtoResponse(booking);
+
+        MappingMetrics.Stats stats = MappingMetrics.drain();
+        assertThat(stats.getObjects(), equalTo(4L));
+        assertThat(registry.get("shareit.mapping").tag("mapper", "booking").timer().count(), equalTo(2L));
+        assertThat(registry.get("shareit.mapping.objects").tag("mapper", "booking").counter().count(), equalTo(4.0));
+        assertThat(MappingMetrics.drain().getObjects(), equalTo(0L));
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.utility;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import ru.practicum.shareit.config.SqlStatementCounter;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), SqlStatementCounter.current());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long start = context.getStore(NAMESPACE).remove(context.getUniqueId(), Long.class);
+        long executed = SqlStatementCounter.current() - start;
+        int budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlBudget.class))
+                .map(SqlBudget::value)
+                .orElseThrow();
+        assertTrue(executed <= budget,
+                () -> String.format("SQL-бюджет превышен: %d выполнений при допустимых %d", executed, budget));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.utility;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+/**
+ * Наполнение БД для тестов на полном контексте: пользователи, вещи, бронирования, комментарии и запросы
+ * сохраняются через репозитории. Подключается через @Import(TestFixtures.class); flushAndClear() отделяет
+ * наполнение от проверяемых запросов, чтобы они не брались из контекста персистентности.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Пользователь с почтой name@mail.ru, поэтому имена в пределах теста должны различаться.
+     */
+    public User user(String name) {
+        return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+    }
+
+    public Item item(User owner, String name) {
+        return item(owner, name, null);
+    }
+
+    public Item item(User owner, String name, ItemRequest request) {
+        return itemRepository.save(Item.builder().name(name).description(name + " item")
+                .available(true).owner(owner).request(request).build());
+    }
+
+    /**
+     * Бронирование на сутки с момента start.
+     */
+    public Booking booking(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        return booking(item, booker, start, start.plusDays(1), status);
+    }
+
+    public Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(start).end(end).status(status).build());
+    }
+
+    public Comment comment(Item item, User author, String text, LocalDateTime created) {
+        return commentRepository.save(Comment.builder().text(text).item(item).user(author).created(created).build());
+    }
+
+    public ItemRequest request(User requester, String description) {
+        return itemRequestRepository.save(ItemRequest.builder().description(description)
+                .requester(requester).created(LocalDateTime.now()).build());
+    }
+
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}